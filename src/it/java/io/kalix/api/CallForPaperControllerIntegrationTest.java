@@ -12,11 +12,28 @@ import com.slack.api.model.view.ViewState;
 import com.slack.api.util.json.GsonFactory;
 import com.slack.api.webhook.Payload;
 import io.kalix.Main;
+import io.kalix.application.ArchivedCallForPaperEntity;
 import io.kalix.application.CallForPaperEntity;
+import io.kalix.application.CallForPaperIds;
 import io.kalix.application.CreateCallForPaper;
+import io.kalix.application.Notify;
+import io.kalix.application.ReminderDigestEntity;
+import io.kalix.application.ScheduledNotificationsEntity;
+import io.kalix.application.UpdateCallForPaper;
+import io.kalix.domain.ArchivedCallForPaper;
+import io.kalix.domain.CallForPaper;
+import io.kalix.domain.CallForPaperReminder;
+import io.kalix.domain.ReminderDigest;
+import io.kalix.domain.ScheduledNotifications;
 import io.kalix.view.AllCallForPaperView;
+import io.kalix.view.ArchivedCallForPaperView;
+import io.kalix.view.ArchivedCallForPaperView.ArchivedCallForPaperList;
 import io.kalix.view.CallForPaperList;
 import io.kalix.view.CallForPaperView;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
 import kalix.javasdk.DeferredCall;
 import kalix.spring.testkit.KalixIntegrationTestKitSupport;
 import org.junit.jupiter.api.Disabled;
@@ -32,10 +49,12 @@ import reactor.core.publisher.Mono;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -48,6 +67,7 @@ import static io.kalix.api.CallForPaperController.DELETE_CFP_CALLBACK_ID;
 import static io.kalix.api.CallForPaperController.DELETE_CFP_ID_FIELD;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.awaitility.Awaitility.await;
 
 @SpringBootTest(classes = Main.class)
@@ -58,6 +78,10 @@ class CallForPaperControllerIntegrationTest extends KalixIntegrationTestKitSuppo
 
   @Autowired
   private WebClient webClient;
+  @Autowired
+  private InMemoryMetricReader metricReader;
+  @Autowired
+  private FakeSlackClient fakeSlackClient;
   private String token = "123";
 
   @Test
@@ -146,6 +170,73 @@ class CallForPaperControllerIntegrationTest extends KalixIntegrationTestKitSuppo
       });
   }
 
+  @Test
+  public void shouldAnnounceResubmittedCfpThatWasNotAnnounced() {
+    //given
+    var createCallForPaper = new CreateCallForPaper("Not announced conference", LocalDate.now().plusDays(20), "https://not-announced.example.com", "andrzej");
+    String cfpId = CallForPaperIds.of(createCallForPaper);
+    // created, but the Slack post failed
+    execute(componentClient.forValueEntity(cfpId).call(CallForPaperEntity::create).params(createCallForPaper));
+
+    //when
+    ResponseEntity<String> response = submitAdd(createCallForPaper);
+    ResponseEntity<String> repeated = submitAdd(createCallForPaper);
+
+    //then
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(repeated.getStatusCode()).isEqualTo(HttpStatus.OK);
+    await()
+      .atMost(10, TimeUnit.SECONDS)
+      .untilAsserted(() -> assertThat(execute(componentClient.forValueEntity(cfpId).call(CallForPaperEntity::get)).announced()).isTrue());
+    assertThat(fakeSlackClient.postedCfps()).filteredOn(cfp -> cfp.id().equals(cfpId)).hasSize(1);
+  }
+
+  @Test
+  public void shouldAnnounceOnceWhenSubmissionIsRepeatedDuringAnnouncement() {
+    //given
+    var createCallForPaper = new CreateCallForPaper("Overlapping conference", LocalDate.now().plusDays(20), "https://overlapping.example.com", "andrzej");
+    String cfpId = CallForPaperIds.of(createCallForPaper);
+    var repeated = new CompletableFuture<ResponseEntity<String>>();
+    // Slack repeats the submission while the first one is still posting the cfp
+    fakeSlackClient.beforeNextPost(() -> CompletableFuture.supplyAsync(() -> submitAdd(createCallForPaper))
+      .whenComplete((response, throwable) -> {
+        if (throwable != null) {
+          repeated.completeExceptionally(throwable);
+        } else {
+          repeated.complete(response);
+        }
+      }));
+
+    //when
+    ResponseEntity<String> response = submitAdd(createCallForPaper);
+
+    //then
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(repeated.join().getStatusCode()).isEqualTo(HttpStatus.OK);
+    await()
+      .during(4, TimeUnit.SECONDS)
+      .atMost(6, TimeUnit.SECONDS)
+      .untilAsserted(() -> assertThat(fakeSlackClient.postedCfps()).filteredOn(cfp -> cfp.id().equals(cfpId)).hasSize(1));
+    assertThat(execute(componentClient.forValueEntity(cfpId).call(CallForPaperEntity::get)).announced()).isTrue();
+  }
+
+  @Test
+  public void shouldRejectResubmissionOfEditedCfp() {
+    //given
+    var createCallForPaper = new CreateCallForPaper("Edited conference", LocalDate.now().plusDays(20), "https://edited.example.com", "andrzej");
+    assertThat(submitAdd(createCallForPaper).getStatusCode()).isEqualTo(HttpStatus.OK);
+    execute(componentClient.forValueEntity(CallForPaperIds.of(createCallForPaper))
+      .call(CallForPaperEntity::update)
+      .params(new UpdateCallForPaper("Edited conference 2024", createCallForPaper.deadline(), createCallForPaper.conferenceLink(), "andrzej")));
+
+    //when
+    ResponseEntity<String> response = submitAdd(createCallForPaper);
+
+    //then
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    assertThat(response.getBody()).contains("Cfp already exists");
+  }
+
   @Test
   public void shouldDeleteCfp() throws ExecutionException, InterruptedException, TimeoutException, UnsupportedEncodingException {
     //given
@@ -233,6 +324,271 @@ class CallForPaperControllerIntegrationTest extends KalixIntegrationTestKitSuppo
       });
   }
 
+  @Test
+  public void shouldListArchivedCfps() {
+    //given
+    String cfpId = UUID.randomUUID().toString();
+    LocalDate deadline = LocalDate.now().minusDays(40);
+
+    //when
+    execute(componentClient.forValueEntity(cfpId)
+      .call(ArchivedCallForPaperEntity::archive)
+      .params(new ArchivedCallForPaper(cfpId, "Archived conference", deadline, "url", Instant.now())));
+
+    //then
+    await()
+      .atMost(10, TimeUnit.SECONDS)
+      .untilAsserted(() -> {
+        ArchivedCallForPaperList archived = execute(componentClient.forView().call(ArchivedCallForPaperView::getArchivedCallForPapers));
+        assertThat(archived.archivedCallForPapers())
+          .filteredOn(cfp -> cfp.id().equals(cfpId))
+          .singleElement()
+          .satisfies(cfp -> {
+            assertThat(cfp.conferenceName()).isEqualTo("Archived conference");
+            assertThat(cfp.deadline()).isEqualTo(deadline.toString());
+            assertThat(cfp.deadlineInEpochDays()).isEqualTo(deadline.toEpochDay());
+          });
+      });
+  }
+
+  @Test
+  public void shouldNotRescheduleEditWithSameDeadline() {
+    //given
+    String cfpId = UUID.randomUUID().toString();
+    LocalDate deadline = LocalDate.now().plusDays(20);
+    createAndAwaitScheduled(cfpId, deadline);
+    long rescheduleTimers = rescheduleTimersStarted();
+    long reschedules = reschedulesRun();
+
+    //when
+    execute(componentClient.forValueEntity(cfpId)
+      .call(CallForPaperEntity::update)
+      .params(new UpdateCallForPaper("My renamed conference", deadline, "url", "andrzej")));
+
+    //then
+    await()
+      .during(3, TimeUnit.SECONDS)
+      .atMost(5, TimeUnit.SECONDS)
+      .untilAsserted(() -> {
+        assertThat(rescheduleTimersStarted()).isEqualTo(rescheduleTimers);
+        assertThat(reschedulesRun()).isEqualTo(reschedules);
+      });
+  }
+
+  @Test
+  public void shouldRescheduleChangedDeadlineOnce() {
+    //given
+    String cfpId = UUID.randomUUID().toString();
+    createAndAwaitScheduled(cfpId, LocalDate.now().plusDays(20));
+    long reschedules = reschedulesRun();
+    LocalDate newDeadline = LocalDate.now().plusDays(30);
+
+    //when
+    execute(componentClient.forValueEntity(cfpId)
+      .call(CallForPaperEntity::update)
+      .params(new UpdateCallForPaper("My conference", LocalDate.now().plusDays(25), "url", "andrzej")));
+    execute(componentClient.forValueEntity(cfpId)
+      .call(CallForPaperEntity::update)
+      .params(new UpdateCallForPaper("My conference", newDeadline, "url", "andrzej")));
+
+    //then
+    await()
+      .atMost(10, TimeUnit.SECONDS)
+      .untilAsserted(() -> {
+        ScheduledNotifications scheduled = execute(componentClient.forValueEntity(cfpId).call(ScheduledNotificationsEntity::get));
+        assertThat(scheduled.deadline()).isEqualTo(newDeadline);
+      });
+    await()
+      .during(3, TimeUnit.SECONDS)
+      .atMost(5, TimeUnit.SECONDS)
+      .untilAsserted(() -> assertThat(reschedulesRun()).isEqualTo(reschedules + 1));
+  }
+
+  @Test
+  public void shouldCancelPendingRescheduleOnDelete() {
+    //given
+    String cfpId = UUID.randomUUID().toString();
+    createAndAwaitScheduled(cfpId, LocalDate.now().plusDays(20));
+    long rescheduleTimers = rescheduleTimersStarted();
+    long reschedules = reschedulesRun();
+    execute(componentClient.forValueEntity(cfpId)
+      .call(CallForPaperEntity::update)
+      .params(new UpdateCallForPaper("My conference", LocalDate.now().plusDays(30), "url", "andrzej")));
+    await()
+      .atMost(10, TimeUnit.SECONDS)
+      .untilAsserted(() -> assertThat(rescheduleTimersStarted()).isEqualTo(rescheduleTimers + 1));
+
+    //when
+    execute(componentClient.forValueEntity(cfpId).call(CallForPaperEntity::delete));
+
+    //then
+    await()
+      .during(4, TimeUnit.SECONDS)
+      .atMost(6, TimeUnit.SECONDS)
+      .untilAsserted(() -> assertThat(reschedulesRun()).isEqualTo(reschedules));
+  }
+
+  @Test
+  public void shouldFlushReminderAddedDuringFlush() {
+    //given
+    String slot = "it-" + UUID.randomUUID();
+    String deadline = LocalDate.now().plusDays(7).toString();
+    CallForPaperReminder first = new CallForPaperReminder(UUID.randomUUID().toString(), "My conference 1", deadline, "url", 7);
+    CallForPaperReminder second = new CallForPaperReminder(UUID.randomUUID().toString(), "My conference 2", deadline, "url", 7);
+    execute(componentClient.forValueEntity(slot).call(ReminderDigestEntity::add).params(first));
+    fakeSlackClient.beforeNextDigest(() -> componentClient.forValueEntity(slot).call(ReminderDigestEntity::add).params(second).execute());
+
+    //when
+    execute(componentClient.forAction().call(Notify::flushDigest).params(slot));
+
+    //then
+    await()
+      .atMost(10, TimeUnit.SECONDS)
+      .untilAsserted(() -> {
+        assertThat(fakeSlackClient.sentDigests()).contains(List.of(first), List.of(second));
+        ReminderDigest digest = execute(componentClient.forValueEntity(slot).call(ReminderDigestEntity::get));
+        assertThat(digest.reminders()).isEmpty();
+      });
+  }
+
+  @Test
+  public void shouldExportCfps() {
+    //given
+    String cfpId = "export-" + UUID.randomUUID();
+    String deadline = LocalDate.now().plusDays(30).toString();
+    execute(componentClient.forValueEntity(cfpId)
+      .call(CallForPaperEntity::create)
+      .params(new CreateCallForPaper("Export, \"the\" conference", LocalDate.parse(deadline), "https://export.example.com", "andrzej")));
+
+    //when
+    await()
+      .atMost(10, TimeUnit.SECONDS)
+      .untilAsserted(() -> {
+        ResponseEntity<String> csv = export("/cfp/export/csv");
+        ResponseEntity<String> ndjson = export("/cfp/export/ndjson");
+
+        //then
+        assertThat(csv.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(csv.getHeaders().getContentType().toString()).startsWith("text/csv");
+        assertThat(csv.getBody()).startsWith("id,conferenceName,deadline,conferenceLink\n");
+        assertThat(csv.getBody().lines()).contains(cfpId + ",\"Export, \"\"the\"\" conference\"," + deadline + ",https://export.example.com");
+
+        assertThat(ndjson.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(ndjson.getHeaders().getContentType().toString()).startsWith("application/x-ndjson");
+        assertThat(ndjson.getBody().lines()).allSatisfy(line -> assertThat(line).startsWith("{").endsWith("}"));
+        assertThat(ndjson.getBody().lines()).anySatisfy(line -> assertThat(line).contains("\"id\":\"" + cfpId + "\""));
+      });
+  }
+
+  @Test
+  public void shouldImportCfps() {
+    //given
+    LocalDate deadline = LocalDate.now().plusDays(40);
+    String existingId = "import-existing-" + UUID.randomUUID();
+    execute(componentClient.forValueEntity(existingId)
+      .call(CallForPaperEntity::create)
+      .params(new CreateCallForPaper("Existing import conference", deadline, "https://existing.example.com", "andrzej")));
+    await()
+      .atMost(10, TimeUnit.SECONDS)
+      .untilAsserted(() -> assertThat(execute(componentClient.forView().call(AllCallForPaperView::getCallForPapersByDeadline).params(deadline.toEpochDay())).callForPaperViews())
+        .extracting(CallForPaperView::id).contains(existingId));
+    String content = """
+      conferenceName,deadline,conferenceLink
+      Imported conference 1,%1$s,https://imported-1.example.com
+      Broken conference,not-a-date,https://broken.example.com
+       imported conference 1 ,%1$s,https://imported-1b.example.com
+      Existing import conference,%1$s,https://existing.example.com
+      Imported conference 2,%1$s,https://imported-2.example.com
+      """.formatted(deadline);
+
+    //when
+    ImportReport report = webClient
+      .post()
+      .uri("/cfp/backoffice/import")
+      .bodyValue(new ImportCallForPapers("csv", content, "andrzej"))
+      .retrieve()
+      .bodyToMono(ImportReport.class)
+      .block(timeout);
+
+    //then
+    assertThat(report.created()).isEqualTo(2);
+    assertThat(report.duplicates()).isEqualTo(2);
+    assertThat(report.invalid()).isEqualTo(1);
+    assertThat(report.failed()).isZero();
+    assertThat(report.rows()).extracting(ImportReport.ImportRowResult::row, ImportReport.ImportRowResult::status).containsExactly(
+      tuple(1, ImportReport.Status.CREATED),
+      tuple(2, ImportReport.Status.INVALID),
+      tuple(3, ImportReport.Status.DUPLICATE),
+      tuple(4, ImportReport.Status.DUPLICATE),
+      tuple(5, ImportReport.Status.CREATED));
+    String importedId = report.rows().getFirst().cfpId();
+    CallForPaper imported = execute(componentClient.forValueEntity(importedId).call(CallForPaperEntity::get));
+    assertThat(imported.conferenceName()).isEqualTo("Imported conference 1");
+    assertThat(imported.silent()).isTrue();
+    assertThat(fakeSlackClient.postedCfps()).extracting(CallForPaperView::id).doesNotContain(importedId);
+  }
+
+  private ResponseEntity<String> export(String uri) {
+    return webClient
+      .get()
+      .uri(uri)
+      .retrieve()
+      .toEntity(String.class)
+      .block(timeout);
+  }
+
+  private ResponseEntity<String> submitAdd(CreateCallForPaper createCallForPaper) {
+    ViewState.Value conferenceNameValue = new ViewState.Value();
+    conferenceNameValue.setValue(createCallForPaper.conferenceName());
+    ViewState.Value conferenceLinkValue = new ViewState.Value();
+    conferenceLinkValue.setValue(createCallForPaper.conferenceLink());
+    ViewState.Value cfpDeadlineValue = new ViewState.Value();
+    cfpDeadlineValue.setSelectedDate(createCallForPaper.deadline().toString());
+    Map<String, Map<String, ViewState.Value>> values = Map.of(CONFERENCE_NAME_FIELD, Map.of(CONFERENCE_NAME_FIELD, conferenceNameValue),
+      CONFERENCE_LINK_FIELD, Map.of(CONFERENCE_LINK_FIELD, conferenceLinkValue),
+      CONFERENCE_CFP_DEADLINE_FIELD, Map.of(CONFERENCE_CFP_DEADLINE_FIELD, cfpDeadlineValue));
+    View view = new View(ADD_CFP_CALLBACK_ID, ViewState.builder().values(values).build());
+    ViewSubmission viewSubmission = new ViewSubmission("view_submission", token, new ViewSubmissionUser(createCallForPaper.userName()), view);
+    return webClient
+      .post()
+      .uri("/api/cfp/submit")
+      .header("Content-Type", "application/x-www-form-urlencoded")
+      .bodyValue("payload=" + URLEncoder.encode(gson.toJson(viewSubmission), UTF_8))
+      .retrieve()
+      .toEntity(String.class)
+      .onErrorResume(WebClientResponseException.class, error -> Mono.just(ResponseEntity.status(error.getStatusCode()).body(error.getResponseBodyAsString())))
+      .block(timeout);
+  }
+
+  private void createAndAwaitScheduled(String cfpId, LocalDate deadline) {
+    execute(componentClient.forValueEntity(cfpId)
+      .call(CallForPaperEntity::create)
+      .params(new CreateCallForPaper("My conference", deadline, "url", "andrzej")));
+    await()
+      .atMost(10, TimeUnit.SECONDS)
+      .untilAsserted(() -> {
+        ScheduledNotifications scheduled = execute(componentClient.forValueEntity(cfpId).call(ScheduledNotificationsEntity::get));
+        assertThat(scheduled.deadline()).isEqualTo(deadline);
+      });
+  }
+
+  private long rescheduleTimersStarted() {
+    return counter("notification.timers.scheduled", Attributes.of(AttributeKey.stringKey("scheduler"), "reschedule"));
+  }
+
+  private long reschedulesRun() {
+    return counter("notification.reschedules", Attributes.empty());
+  }
+
+  private long counter(String name, Attributes attributes) {
+    return metricReader.collectAllMetrics().stream()
+      .filter(metric -> metric.getName().equals(name))
+      .flatMap(metric -> metric.getLongSumData().getPoints().stream())
+      .filter(point -> point.getAttributes().equals(attributes))
+      .mapToLong(LongPointData::getValue)
+      .sum();
+  }
+
   private <T> T execute(DeferredCall<Any, T> deferredCall) {
     try {
       return deferredCall.execute().toCompletableFuture().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
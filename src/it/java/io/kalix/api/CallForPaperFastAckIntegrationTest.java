@@ -0,0 +1,143 @@
+package io.kalix.api;
+
+import com.google.gson.Gson;
+import com.google.protobuf.any.Any;
+import com.slack.api.SlackConfig;
+import com.slack.api.model.view.ViewState;
+import com.slack.api.util.json.GsonFactory;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import io.kalix.Main;
+import io.kalix.application.CallForPaperEntity;
+import io.kalix.application.CallForPaperIds;
+import io.kalix.application.CreateCallForPaper;
+import io.kalix.application.SlackResponse;
+import kalix.javasdk.DeferredCall;
+import kalix.spring.testkit.KalixIntegrationTestKitSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.URLEncoder;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.kalix.api.CallForPaperController.ADD_CFP_CALLBACK_ID;
+import static io.kalix.api.CallForPaperController.CONFERENCE_CFP_DEADLINE_FIELD;
+import static io.kalix.api.CallForPaperController.CONFERENCE_LINK_FIELD;
+import static io.kalix.api.CallForPaperController.CONFERENCE_NAME_FIELD;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Submissions acknowledged before the cfp exists, created by the CallForPaperCreator and announced by the
+ * NewCallForPaperAnnouncer.
+ */
+@SpringBootTest(classes = Main.class)
+@ActiveProfiles("it-test")
+class CallForPaperFastAckIntegrationTest extends KalixIntegrationTestKitSupport {
+
+  @TestConfiguration
+  static class FastAckConfiguration {
+
+    @Bean
+    @Primary
+    public Config fastAckConfig() {
+      return ConfigFactory.parseString("cfp.notifier.fast-ack.enabled = true").withFallback(ConfigFactory.load());
+    }
+  }
+
+  private final Gson gson = GsonFactory.createSnakeCase(SlackConfig.DEFAULT);
+
+  @Autowired
+  private WebClient webClient;
+  @Autowired
+  private FakeSlackClient fakeSlackClient;
+  private String token = "123";
+
+  @Test
+  public void shouldCreateAndAnnounceAcknowledgedCfp() {
+    //given
+    var createCallForPaper = new CreateCallForPaper("Fast ack conference", LocalDate.now().plusDays(20), "https://fast-ack.example.com", "andrzej");
+    String cfpId = CallForPaperIds.of(createCallForPaper);
+
+    //when
+    ResponseEntity<String> response = submitAdd(createCallForPaper);
+
+    //then
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    await()
+      .ignoreExceptions()
+      .atMost(10, TimeUnit.SECONDS)
+      .untilAsserted(() -> assertThat(execute(componentClient.forValueEntity(cfpId).call(CallForPaperEntity::get)).announced()).isTrue());
+    assertThat(fakeSlackClient.postedCfps()).filteredOn(cfp -> cfp.id().equals(cfpId)).hasSize(1);
+  }
+
+  @Test
+  public void shouldRetryFailedAnnouncementWithoutHoldingBackOtherCfps() {
+    //given
+    var failing = new CreateCallForPaper("Failing announcement conference", LocalDate.now().plusDays(20), "https://failing.example.com", "andrzej");
+    var next = new CreateCallForPaper("Next conference", LocalDate.now().plusDays(21), "https://next.example.com", "andrzej");
+    fakeSlackClient.failNextPost(new SlackResponse.Response(500, "Internal Server Error"));
+
+    //when
+    assertThat(submitAdd(failing).getStatusCode()).isEqualTo(HttpStatus.OK);
+    await()
+      .ignoreExceptions()
+      .atMost(10, TimeUnit.SECONDS)
+      .untilAsserted(() -> assertThat(execute(componentClient.forValueEntity(CallForPaperIds.of(failing)).call(CallForPaperEntity::get))).isNotNull());
+    assertThat(submitAdd(next).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    //then
+    await()
+      .ignoreExceptions()
+      .atMost(10, TimeUnit.SECONDS)
+      .untilAsserted(() -> {
+        assertThat(execute(componentClient.forValueEntity(CallForPaperIds.of(next)).call(CallForPaperEntity::get)).announced()).isTrue();
+        assertThat(execute(componentClient.forValueEntity(CallForPaperIds.of(failing)).call(CallForPaperEntity::get)).announced()).isTrue();
+      });
+    assertThat(fakeSlackClient.postedCfps()).filteredOn(cfp -> cfp.id().equals(CallForPaperIds.of(failing))).hasSize(1);
+    assertThat(fakeSlackClient.postedCfps()).filteredOn(cfp -> cfp.id().equals(CallForPaperIds.of(next))).hasSize(1);
+  }
+
+  private ResponseEntity<String> submitAdd(CreateCallForPaper createCallForPaper) {
+    ViewState.Value conferenceNameValue = new ViewState.Value();
+    conferenceNameValue.setValue(createCallForPaper.conferenceName());
+    ViewState.Value conferenceLinkValue = new ViewState.Value();
+    conferenceLinkValue.setValue(createCallForPaper.conferenceLink());
+    ViewState.Value cfpDeadlineValue = new ViewState.Value();
+    cfpDeadlineValue.setSelectedDate(createCallForPaper.deadline().toString());
+    Map<String, Map<String, ViewState.Value>> values = Map.of(CONFERENCE_NAME_FIELD, Map.of(CONFERENCE_NAME_FIELD, conferenceNameValue),
+      CONFERENCE_LINK_FIELD, Map.of(CONFERENCE_LINK_FIELD, conferenceLinkValue),
+      CONFERENCE_CFP_DEADLINE_FIELD, Map.of(CONFERENCE_CFP_DEADLINE_FIELD, cfpDeadlineValue));
+    View view = new View(ADD_CFP_CALLBACK_ID, ViewState.builder().values(values).build());
+    ViewSubmission viewSubmission = new ViewSubmission("view_submission", token, new ViewSubmissionUser(createCallForPaper.userName()), view);
+    return webClient
+      .post()
+      .uri("/api/cfp/submit")
+      .header("Content-Type", "application/x-www-form-urlencoded")
+      .bodyValue("payload=" + URLEncoder.encode(gson.toJson(viewSubmission), UTF_8))
+      .retrieve()
+      .toEntity(String.class)
+      .block(timeout);
+  }
+
+  private <T> T execute(DeferredCall<Any, T> deferredCall) {
+    try {
+      return deferredCall.execute().toCompletableFuture().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException | ExecutionException | TimeoutException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -1,6 +1,6 @@
 package io.kalix.api;
 
-import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.Config;
 import io.kalix.application.SlackClient;
 import io.kalix.application.SlackResponse;
 import io.kalix.domain.CallForPaperReminder;
@@ -12,25 +12,80 @@ import org.springframework.stereotype.Component;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 @Component
 @Profile("it-test")
 public class FakeSlackClient implements SlackClient {
 
-  private SlackClient slackClient = new BlockingSlackClient(ConfigFactory.defaultApplication());
+  private static final Supplier<CompletionStage<?>> NOTHING = () -> CompletableFuture.completedFuture(null);
+
+  private final SlackClient slackClient;
+  private final List<CallForPaperView> postedCfps = new CopyOnWriteArrayList<>();
+  private final List<List<CallForPaperReminder>> sentDigests = new CopyOnWriteArrayList<>();
+  private final AtomicReference<Supplier<CompletionStage<?>>> beforeNextDigest = new AtomicReference<>(NOTHING);
+  private final AtomicReference<Supplier<CompletionStage<?>>> beforeNextPost = new AtomicReference<>(NOTHING);
+  private final AtomicReference<SlackResponse> nextPostFailure = new AtomicReference<>();
+
+  public FakeSlackClient(Config config) {
+    this.slackClient = new BlockingSlackClient(config);
+  }
+
+  /**
+   * Runs the action while the next digest is being sent, e.g. to add a reminder during a flush.
+   */
+  public void beforeNextDigest(Supplier<CompletionStage<?>> action) {
+    beforeNextDigest.set(action);
+  }
+
+  /**
+   * Runs the action while the next cfp is being posted, e.g. to repeat the submission like Slack does.
+   */
+  public void beforeNextPost(Supplier<CompletionStage<?>> action) {
+    beforeNextPost.set(action);
+  }
+
+  /**
+   * The next cfp is not posted, the failure is returned instead.
+   */
+  public void failNextPost(SlackResponse failure) {
+    nextPostFailure.set(failure);
+  }
+
+  public List<CallForPaperView> postedCfps() {
+    return postedCfps;
+  }
+
+  public List<List<CallForPaperReminder>> sentDigests() {
+    return sentDigests;
+  }
 
   @Override
-  public String getCfpsListPayload(List<CallForPaperView> openCallForPapers) {
+  public byte[] getCfpsListPayload(List<CallForPaperView> openCallForPapers) {
     return slackClient.getCfpsListPayload(openCallForPapers);
   }
 
+  @Override
+  public byte[] getCfpOptionsPayload(List<CallForPaperView> callForPaperViews) {
+    return slackClient.getCfpOptionsPayload(callForPaperViews);
+  }
+
   @Override
   public CompletionStage<SlackResponse> postNewCfp(CallForPaperView callForPaperView) {
-    return CompletableFuture.completedFuture(new SlackResponse.Response(200, "ok"));
+    SlackResponse failure = nextPostFailure.getAndSet(null);
+    if (failure != null) {
+      return CompletableFuture.completedFuture(failure);
+    }
+    return beforeNextPost.getAndSet(NOTHING).get().thenApply(__ -> {
+      postedCfps.add(callForPaperView);
+      return new SlackResponse.Response(200, "ok");
+    });
   }
 
   @Override
-  public CompletionStage<SlackResponse> openCfpsToDelete(List<CallForPaperView> openCallForPapers, String triggerId, String callbackId, String cfpIdField) {
+  public CompletionStage<SlackResponse> openCfpsToDelete(String triggerId, String callbackId, String cfpIdField) {
     return CompletableFuture.completedFuture(new SlackResponse.Response(200, "ok"));
   }
 
@@ -43,4 +98,12 @@ public class FakeSlackClient implements SlackClient {
   public CompletionStage<SlackResponse> notifyAboutOpenCfp(CallForPaperReminder callForPaperReminder) {
     return CompletableFuture.completedFuture(new SlackResponse.Response(200, "ok"));
   }
+
+  @Override
+  public CompletionStage<SlackResponse> notifyAboutOpenCfps(List<CallForPaperReminder> callForPaperReminders) {
+    return beforeNextDigest.getAndSet(NOTHING).get().thenApply(__ -> {
+      sentDigests.add(callForPaperReminders);
+      return new SlackResponse.Response(200, "ok");
+    });
+  }
 }
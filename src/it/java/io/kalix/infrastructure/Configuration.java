@@ -1,5 +1,10 @@
 package io.kalix.infrastructure;
 
+import com.typesafe.config.Config;
+import io.kalix.application.NotificationPlan;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
 
@@ -13,4 +18,22 @@ public class Configuration {
   public Clock clock() {
     return new TestClock(Clock.systemUTC().instant());
   }
+
+  @Bean
+  public NotificationPlan notificationPlan(Config config, Clock clock) {
+    return NotificationPlan.from(config, clock);
+  }
+
+  @Bean
+  public InMemoryMetricReader metricReader() {
+    return InMemoryMetricReader.create();
+  }
+
+  @Bean
+  public Meter meter(InMemoryMetricReader metricReader) {
+    return SdkMeterProvider.builder()
+      .registerMetricReader(metricReader)
+      .build()
+      .get("cfp-notifier");
+  }
 }
@@ -0,0 +1,56 @@
+package io.kalix.api;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Parsing, validation and deduplication of a 10k rows bulk import, the part of the import done before calling the
+ * entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallForPaperImportBenchmark {
+
+  @Param({"csv", "ndjson"})
+  public String format;
+
+  private final LocalDate today = LocalDate.parse("2024-01-01");
+  private String content;
+
+  @Setup
+  public void setup() {
+    LocalDate deadline = LocalDate.parse("2024-03-25");
+    if (format.equals("csv")) {
+      content = "conferenceName,deadline,conferenceLink\n" + IntStream.range(0, 10_000)
+        .mapToObj(i -> "\"Conference, " + i + "\"," + deadline.plusDays(i % 365) + ",https://conference-" + i + ".com/cfp")
+        .collect(Collectors.joining("\n"));
+    } else {
+      content = IntStream.range(0, 10_000)
+        .mapToObj(i -> "{\"conferenceName\":\"Conference " + i + "\",\"deadline\":\"" + deadline.plusDays(i % 365) + "\",\"conferenceLink\":\"https://conference-" + i + ".com/cfp\"}")
+        .collect(Collectors.joining("\n"));
+    }
+  }
+
+  @Benchmark
+  public Object parseAndPrepare() {
+    return CallForPaperImport.prepare(CallForPaperImport.parse(format, content, "benchmark"), today);
+  }
+}
@@ -0,0 +1,58 @@
+package io.kalix.api;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Parsing of a delete modal view_submission, Slack sends back all options of the static select.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewSubmissionParserBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int options;
+
+  private String payload;
+
+  @Setup
+  public void setup() {
+    String selectOptions = IntStream.range(0, options)
+      .mapToObj(i -> "{\"text\":{\"type\":\"plain_text\",\"text\":\"conference " + i + " 2024-03-25\",\"emoji\":true},\"value\":\"" + UUID.randomUUID() + "\"}")
+      .collect(Collectors.joining(","));
+    payload = "{\"type\":\"view_submission\",\"team\":{\"id\":\"T06A2ECBTSR\",\"domain\":\"lightbend-test\"},\"user\":{\"id\":\"U06AJ1JA509\",\"username\":\"andrzej.ludwikowski\",\"name\":\"andrzej.ludwikowski\",\"team_id\":\"T06A2ECBTSR\"},\"api_app_id\":\"A06A5FB58HG\",\"token\":\"123\",\"trigger_id\":\"6395422326006.6342488401909.cb29b769e06aaa44605296497a118706\","
+      + "\"view\":{\"id\":\"V06CGQQM41W\",\"team_id\":\"T06A2ECBTSR\",\"type\":\"modal\",\"blocks\":[{\"type\":\"section\",\"block_id\":\"cfp_id\",\"text\":{\"type\":\"plain_text\",\"text\":\"Select a call for papers to delete\",\"emoji\":true},"
+      + "\"accessory\":{\"type\":\"static_select\",\"action_id\":\"cfp_id\",\"placeholder\":{\"type\":\"plain_text\",\"text\":\"Select cfp\",\"emoji\":true},\"options\":[" + selectOptions + "]}}],"
+      + "\"private_metadata\":\"\",\"callback_id\":\"delete_cfp\",\"state\":{\"values\":{\"cfp_id\":{\"cfp_id\":{\"type\":\"static_select\",\"selected_option\":{\"text\":{\"type\":\"plain_text\",\"text\":\"conference 0 2024-03-25\",\"emoji\":true},\"value\":\"55b0f53e-8e07-434c-84e9-ce0840110043\"}}}}},"
+      + "\"hash\":\"1703772528.UxFOJEil\",\"title\":{\"type\":\"plain_text\",\"text\":\"Delete call for papers\",\"emoji\":false},\"clear_on_close\":false,\"notify_on_close\":false,\"close\":{\"type\":\"plain_text\",\"text\":\"Cancel\",\"emoji\":false},\"submit\":{\"type\":\"plain_text\",\"text\":\"Delete\",\"emoji\":false},\"previous_view_id\":null,\"root_view_id\":\"V06CGQQM41W\",\"app_id\":\"A06A5FB58HG\",\"external_id\":\"\",\"app_installed_team_id\":\"T06A2ECBTSR\",\"bot_id\":\"B069YSYV6PQ\"},"
+      + "\"response_urls\":[],\"is_enterprise_install\":false,\"enterprise\":null}";
+  }
+
+  @Benchmark
+  public ViewSubmission parse() {
+    return ViewSubmissionParser.parse(payload);
+  }
+
+  @Benchmark
+  public Object parseInvalidToken() {
+    return ViewSubmissionParser.parse(payload, "456"::equals);
+  }
+}
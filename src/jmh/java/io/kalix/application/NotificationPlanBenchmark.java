@@ -0,0 +1,59 @@
+package io.kalix.application;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.kalix.application.DurationCalculator.calculateDuration;
+import static java.util.Arrays.stream;
+
+/**
+ * Per cfp change scheduling cost: the precomputed {@link NotificationPlan} vs parsing the intervals from config and
+ * calculating durations with zone conversions on every change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationPlanBenchmark {
+
+  private final Clock clock = Clock.systemUTC();
+  private final String intervalsConfig = "14,7,3,1";
+  private final NotificationPlan notificationPlan = NotificationPlan.of(intervalsConfig, clock);
+  private final Instant now = Instant.parse("2024-01-20T10:12:12.00Z");
+  private final LocalDate today = LocalDate.ofInstant(now, clock.getZone());
+  private final LocalDate deadline = LocalDate.parse("2024-03-25");
+
+  @Benchmark
+  public void scheduleWithNotificationPlan(Blackhole blackhole) {
+    for (int i = 0; i < notificationPlan.size(); i++) {
+      int howManyDaysBefore = notificationPlan.interval(i);
+      if (notificationPlan.isApplicable(howManyDaysBefore, deadline, today)) {
+        blackhole.consume(notificationPlan.durationUntilNotification(now, howManyDaysBefore, deadline));
+      }
+    }
+  }
+
+  @Benchmark
+  public void scheduleWithConfigParsing(Blackhole blackhole) {
+    List<Integer> intervals = stream(intervalsConfig.split(",")).map(Integer::parseInt).toList();
+    intervals.stream()
+      .filter(interval -> deadline.minusDays(interval).isAfter(today))
+      .forEach(howManyDaysBefore -> blackhole.consume(calculateDuration(now, howManyDaysBefore, deadline, clock)));
+  }
+}
@@ -0,0 +1,86 @@
+package io.kalix.infrastructure;
+
+import com.google.gson.Gson;
+import com.slack.api.SlackConfig;
+import com.slack.api.util.json.GsonFactory;
+import io.kalix.domain.CallForPaperReminder;
+import io.kalix.view.CallForPaperView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Construction and serialization of the Slack payloads built on the request paths, for growing open cfps lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlackPayloadBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int size;
+
+  private final Gson gson = GsonFactory.createSnakeCase(SlackConfig.DEFAULT);
+  private final CallForPaperReminder reminder = new CallForPaperReminder(UUID.randomUUID().toString(), "Scalar 2024", "2024-03-25", "https://www.scalar-conf.com/", 7);
+  private List<CallForPaperView> openCallForPapers;
+
+  @Setup
+  public void setup() {
+    LocalDate deadline = LocalDate.parse("2024-03-25");
+    openCallForPapers = IntStream.range(0, size)
+      .mapToObj(i -> new CallForPaperView(UUID.randomUUID().toString(), "Conference " + i, deadline.plusDays(i).toString(), deadline.plusDays(i).toEpochDay(), "https://conference-" + i + ".com/cfp"))
+      .toList();
+  }
+
+  @Benchmark
+  public Object cfpsListPayload() {
+    return BlockingSlackClient.cfpsListPayload(openCallForPapers);
+  }
+
+  @Benchmark
+  public String cfpsListPayloadJson() {
+    return gson.toJson(BlockingSlackClient.cfpsListPayload(openCallForPapers));
+  }
+
+  @Benchmark
+  public byte[] cfpsListPayloadStreaming() {
+    return CfpsListPayloadWriter.write(openCallForPapers);
+  }
+
+  @Benchmark
+  public Object deleteCfpModal() {
+    return BlockingSlackClient.deleteCfpModal("trigger", "delete_cfp", "cfp_id");
+  }
+
+  @Benchmark
+  public String deleteCfpModalJson() {
+    return gson.toJson(BlockingSlackClient.deleteCfpModal("trigger", "delete_cfp", "cfp_id"));
+  }
+
+  @Benchmark
+  public String cfpOptionsPayloadJson() {
+    return gson.toJson(BlockingSlackClient.cfpOptions(openCallForPapers.subList(0, Math.min(100, openCallForPapers.size()))));
+  }
+
+  @Benchmark
+  public String cfpReminderPayloadJson() {
+    return gson.toJson(BlockingSlackClient.cfpReminderPayload(reminder));
+  }
+}
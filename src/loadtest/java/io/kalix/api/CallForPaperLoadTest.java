@@ -0,0 +1,262 @@
+package io.kalix.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.gson.Gson;
+import com.slack.api.SlackConfig;
+import com.slack.api.model.view.ViewState;
+import com.slack.api.util.json.GsonFactory;
+import io.kalix.infrastructure.SlackStub;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static io.kalix.api.CallForPaperController.ADD_CFP_CALLBACK_ID;
+import static io.kalix.api.CallForPaperController.CONFERENCE_CFP_DEADLINE_FIELD;
+import static io.kalix.api.CallForPaperController.CONFERENCE_LINK_FIELD;
+import static io.kalix.api.CallForPaperController.CONFERENCE_NAME_FIELD;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Fires Slack-like calls at a running service, phase by phase: add cfp submissions ({@code /api/cfp/submit}), the
+ * {@code /list} slash command, notifications ({@code /cfp/backoffice/trigger-notification/{cfpId}}) and bulk imports
+ * ({@code /cfp/backoffice/import}), and reports throughput and p50/p99/p999 latency per endpoint. The import phase
+ * sends {@code loadtest.import.batches} batches of {@code loadtest.import.batch-size} new cfps, its throughput is also
+ * reported in created cfps per second. A {@link SlackStub} is started for the duration of the run, the
+ * service should be started against it, see the {@code loadtest} Maven profile.
+ * <p>
+ * Each phase sends {@code loadtest.warmup} unrecorded requests first, then {@code loadtest.requests} requests from
+ * {@code loadtest.concurrency} virtual threads, each waiting for its response before sending the next one. Such a
+ * closed loop slows down with the service and hides its queueing delay, with {@code loadtest.rate} requests are paced
+ * at a fixed rate per second instead, and latency is measured from the time a request was due, not from when a free
+ * worker got to send it.
+ */
+public class CallForPaperLoadTest {
+
+  record Settings(URI url, String token, int requests, int warmup, int concurrency, int rate, int importBatches,
+                  int importBatchSize, Duration timeout) {
+
+    static Settings fromSystemProperties() {
+      return new Settings(
+        URI.create(System.getProperty("loadtest.url", "http://localhost:9000")),
+        System.getProperty("loadtest.token", "loadtest"),
+        Integer.getInteger("loadtest.requests", 2000),
+        Integer.getInteger("loadtest.warmup", 200),
+        Integer.getInteger("loadtest.concurrency", 32),
+        Integer.getInteger("loadtest.rate", 0),
+        Integer.getInteger("loadtest.import.batches", 50),
+        Integer.getInteger("loadtest.import.batch-size", 100),
+        Duration.ofSeconds(Long.getLong("loadtest.timeout-seconds", 30)));
+    }
+
+    boolean openLoop() {
+      return rate > 0;
+    }
+  }
+
+  private final Gson gson = GsonFactory.createSnakeCase(SlackConfig.DEFAULT);
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Settings settings;
+  private final HttpClient httpClient;
+  private final String runId = Long.toString(System.currentTimeMillis(), 36);
+  private final AtomicInteger submissions = new AtomicInteger();
+  private final AtomicInteger imports = new AtomicInteger();
+
+  CallForPaperLoadTest(Settings settings, ExecutorService executor) {
+    this.settings = settings;
+    this.httpClient = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(5))
+      .executor(executor)
+      .build();
+  }
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    Settings settings = Settings.fromSystemProperties();
+    SlackStub.Settings stubSettings = SlackStub.Settings.fromSystemProperties();
+    try (SlackStub slackStub = SlackStub.start(stubSettings);
+         ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      System.out.println("Slack stub listening on http://localhost:" + slackStub.port() + " with " + stubSettings);
+      System.out.println("Load testing " + settings);
+      System.out.println(settings.openLoop()
+        ? "Open loop: " + settings.rate() + " requests/s, latency includes the time a request waited for a worker"
+        : "Closed loop: latency excludes queueing delay, set loadtest.rate to pace requests at a fixed rate");
+
+      var loadTest = new CallForPaperLoadTest(settings, executor);
+      List<LatencyRecorder.Summary> summaries = new ArrayList<>();
+      summaries.add(loadTest.run("submit", settings.warmup(), settings.requests(), executor, __ -> loadTest.submit()));
+      summaries.add(loadTest.run("list", settings.warmup(), settings.requests(), executor, __ -> loadTest.list()));
+      List<String> cfpIds = loadTest.cfpIds();
+      if (cfpIds.isEmpty()) {
+        System.out.println("No cfps found, skipping the notification phase");
+      } else {
+        summaries.add(loadTest.run("notification", settings.warmup(), settings.requests(), executor, i -> loadTest.triggerNotification(cfpIds.get(i % cfpIds.size()))));
+      }
+      LatencyRecorder.Summary imported = loadTest.run("import", Math.max(1, settings.importBatches() / 10), settings.importBatches(), executor, __ -> loadTest.importBatch());
+      summaries.add(imported);
+
+      System.out.println();
+      System.out.println(LatencyRecorder.Summary.HEADER);
+      summaries.forEach(System.out::println);
+      System.out.printf("import: %d cfps per request, %.1f cfps/s%n", settings.importBatchSize(), imported.throughput() * settings.importBatchSize());
+      System.out.println();
+      System.out.println("Slack stub responses: " + slackStub.responses());
+      executor.shutdownNow();
+    }
+  }
+
+  private LatencyRecorder.Summary run(String endpoint, int warmup, int requests, ExecutorService executor, IntFunction<HttpRequest> request) throws InterruptedException {
+    System.out.println("Running " + endpoint + "...");
+    send(new LatencyRecorder(endpoint), warmup, executor, request);
+    var recorder = new LatencyRecorder(endpoint);
+    long startedAt = System.nanoTime();
+    send(recorder, requests, executor, request);
+    return recorder.summary(Duration.ofNanos(System.nanoTime() - startedAt));
+  }
+
+  private void send(LatencyRecorder recorder, int requests, ExecutorService executor, IntFunction<HttpRequest> request) throws InterruptedException {
+    var next = new AtomicInteger();
+    long startedAt = System.nanoTime();
+    var workers = new ArrayList<Future<?>>();
+    for (int worker = 0; worker < settings.concurrency(); worker++) {
+      workers.add(executor.submit(() -> {
+        for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+          HttpRequest httpRequest = request.apply(i);
+          long sentAt = System.nanoTime();
+          try {
+            if (settings.openLoop()) {
+              long dueAt = startedAt + i * 1_000_000_000L / settings.rate();
+              if (dueAt > sentAt) {
+                Thread.sleep(Duration.ofNanos(dueAt - sentAt));
+              }
+              sentAt = dueAt;
+            }
+            HttpResponse<Void> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+            recorder.record(System.nanoTime() - sentAt, response.statusCode() / 100 == 2);
+          } catch (IOException e) {
+            recorder.record(System.nanoTime() - sentAt, false);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+      }));
+    }
+    for (var worker : workers) {
+      try {
+        worker.get();
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Load test worker failed", e.getCause());
+      }
+    }
+  }
+
+  private HttpRequest submit() {
+    int submission = submissions.incrementAndGet();
+    ViewState.Value conferenceName = new ViewState.Value();
+    conferenceName.setValue("loadtest " + runId + " " + submission);
+    ViewState.Value conferenceLink = new ViewState.Value();
+    conferenceLink.setValue("https://loadtest.example.com/" + runId + "/" + submission);
+    ViewState.Value cfpDeadline = new ViewState.Value();
+    cfpDeadline.setSelectedDate(LocalDate.now().plusDays(30 + submission % 300).toString());
+    Map<String, Map<String, ViewState.Value>> values = Map.of(
+      CONFERENCE_NAME_FIELD, Map.of(CONFERENCE_NAME_FIELD, conferenceName),
+      CONFERENCE_LINK_FIELD, Map.of(CONFERENCE_LINK_FIELD, conferenceLink),
+      CONFERENCE_CFP_DEADLINE_FIELD, Map.of(CONFERENCE_CFP_DEADLINE_FIELD, cfpDeadline));
+    View view = new View(ADD_CFP_CALLBACK_ID, ViewState.builder().values(values).build());
+    ViewSubmission viewSubmission = new ViewSubmission("view_submission", settings.token(), new ViewSubmissionUser("loadtest"), view);
+    return form("/api/cfp/submit", "payload=" + URLEncoder.encode(gson.toJson(viewSubmission), UTF_8));
+  }
+
+  private HttpRequest list() {
+    return form("/api/cfp/list", "token=" + URLEncoder.encode(settings.token(), UTF_8));
+  }
+
+  private HttpRequest triggerNotification(String cfpId) {
+    return HttpRequest.newBuilder(settings.url().resolve("/cfp/backoffice/trigger-notification/" + cfpId))
+      .timeout(settings.timeout())
+      .POST(HttpRequest.BodyPublishers.noBody())
+      .build();
+  }
+
+  /**
+   * A batch of new cfps, every cfp of the run has its own name, so none of them is skipped as a duplicate.
+   */
+  private HttpRequest importBatch() {
+    StringBuilder content = new StringBuilder(settings.importBatchSize() * 160);
+    for (int i = 0; i < settings.importBatchSize(); i++) {
+      int imported = imports.incrementAndGet();
+      ObjectNode row = objectMapper.createObjectNode()
+        .put("conferenceName", "loadtest import " + runId + " " + imported)
+        .put("deadline", LocalDate.now().plusDays(30 + imported % 300).toString())
+        .put("conferenceLink", "https://loadtest.example.com/import/" + runId + "/" + imported);
+      content.append(row).append('\n');
+    }
+    String body;
+    try {
+      body = objectMapper.writeValueAsString(new ImportCallForPapers("ndjson", content.toString(), "loadtest"));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+    return HttpRequest.newBuilder(settings.url().resolve("/cfp/backoffice/import"))
+      .timeout(settings.timeout())
+      .header("Content-Type", "application/json")
+      .POST(HttpRequest.BodyPublishers.ofString(body))
+      .build();
+  }
+
+  private HttpRequest form(String path, String body) {
+    return HttpRequest.newBuilder(settings.url().resolve(path))
+      .timeout(settings.timeout())
+      .header("Content-Type", "application/x-www-form-urlencoded")
+      .POST(HttpRequest.BodyPublishers.ofString(body))
+      .build();
+  }
+
+  /**
+   * The first page of cfps, the view is eventually consistent, so it's polled until the submitted cfps show up.
+   */
+  private List<String> cfpIds() throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(settings.url().resolve("/cfp/backoffice/cfps?pageSize=1000"))
+      .timeout(settings.timeout())
+      .GET()
+      .build();
+    List<String> cfpIds = new ArrayList<>();
+    for (int attempt = 0; attempt < 30 && cfpIds.isEmpty(); attempt++) {
+      if (attempt > 0) {
+        Thread.sleep(Duration.ofSeconds(1));
+      }
+      HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() != 200) {
+        System.out.println("Failed to list cfps, status: " + response.statusCode());
+        continue;
+      }
+      try {
+        for (JsonNode callForPaperView : objectMapper.readTree(response.body()).path("callForPaperViews")) {
+          cfpIds.add(callForPaperView.path("id").asText());
+        }
+      } catch (JsonProcessingException e) {
+        System.out.println("Unexpected cfps page: " + e.getOriginalMessage());
+        return List.of();
+      }
+    }
+    return cfpIds;
+  }
+}
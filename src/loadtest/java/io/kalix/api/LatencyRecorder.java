@@ -0,0 +1,62 @@
+package io.kalix.api;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Keeps every latency of a load test phase, a few thousands of calls per endpoint, so percentiles are exact
+ * (nearest rank) without a histogram library.
+ */
+final class LatencyRecorder {
+
+  record Summary(String endpoint, int requests, int errors, double throughput, double p50, double p99, double p999,
+                 double max) {
+
+    static final String HEADER = String.format("%-14s %9s %7s %9s %9s %9s %9s %9s",
+      "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+
+    @Override
+    public String toString() {
+      return String.format("%-14s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f",
+        endpoint, requests, errors, throughput, p50, p99, p999, max);
+    }
+  }
+
+  private final String endpoint;
+  private long[] latencies = new long[1024];
+  private int count;
+  private int errors;
+
+  LatencyRecorder(String endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  synchronized void record(long latencyNanos, boolean success) {
+    if (count == latencies.length) {
+      latencies = Arrays.copyOf(latencies, count * 2);
+    }
+    latencies[count++] = latencyNanos;
+    if (!success) {
+      errors++;
+    }
+  }
+
+  /**
+   * @param elapsed wall time of the phase, for the throughput
+   */
+  synchronized Summary summary(Duration elapsed) {
+    long[] sorted = Arrays.copyOf(latencies, count);
+    Arrays.sort(sorted);
+    double seconds = elapsed.toNanos() / 1e9;
+    return new Summary(endpoint, count, errors, seconds > 0 ? count / seconds : 0,
+      percentile(sorted, 0.5), percentile(sorted, 0.99), percentile(sorted, 0.999), percentile(sorted, 1));
+  }
+
+  private static double percentile(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percentile * sorted.length);
+    return sorted[Math.max(rank, 1) - 1] / 1e6;
+  }
+}
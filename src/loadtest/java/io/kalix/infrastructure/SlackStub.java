@@ -0,0 +1,134 @@
+package io.kalix.infrastructure;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A local stand-in for Slack, start the service with {@code SLACK_WEBHOOK_URL=http://localhost:<port>/webhook} and
+ * {@code SLACK_WEB_API_URL=http://localhost:<port>/api/}. Every path under {@code /api/} answers like the Web API
+ * ({@code {"ok":true}}), any other path like an incoming webhook ({@code ok}), so additional channels can use e.g.
+ * {@code /webhook/jvm}.
+ * <p>
+ * Each call waits for {@code latency} (plus a random jitter) on its own virtual thread, then a {@code rateLimitedRatio}
+ * of calls is answered with 429 and Retry-After, a {@code serverErrorRatio} with 500.
+ */
+public class SlackStub implements AutoCloseable {
+
+  public record Settings(int port, Duration latency, Duration jitter, double rateLimitedRatio, Duration retryAfter,
+                         double serverErrorRatio) {
+
+    public Settings {
+      if (rateLimitedRatio < 0 || serverErrorRatio < 0 || rateLimitedRatio + serverErrorRatio > 1) {
+        throw new IllegalArgumentException("Rate limited and server error ratios must be between 0 and 1 in total, got: " + rateLimitedRatio + ", " + serverErrorRatio);
+      }
+    }
+
+    public static Settings fromSystemProperties() {
+      return new Settings(
+        Integer.getInteger("loadtest.stub.port", 8089),
+        Duration.ofMillis(Long.getLong("loadtest.stub.latency-ms", 50)),
+        Duration.ofMillis(Long.getLong("loadtest.stub.jitter-ms", 20)),
+        Double.parseDouble(System.getProperty("loadtest.stub.rate-limited-ratio", "0")),
+        Duration.ofSeconds(Long.getLong("loadtest.stub.retry-after-seconds", 1)),
+        Double.parseDouble(System.getProperty("loadtest.stub.server-error-ratio", "0")));
+    }
+  }
+
+  private static final byte[] WEBHOOK_OK = "ok".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] WEB_API_OK = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] RATE_LIMITED = "rate_limited".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] SERVER_ERROR = "internal_error".getBytes(StandardCharsets.UTF_8);
+
+  private final Settings settings;
+  private final HttpServer server;
+  private final Map<String, LongAdder> responses = new ConcurrentHashMap<>();
+
+  private SlackStub(Settings settings) throws IOException {
+    this.settings = settings;
+    this.server = HttpServer.create(new InetSocketAddress(settings.port()), 1024);
+    server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    server.createContext("/", this::handle);
+  }
+
+  public static SlackStub start(Settings settings) throws IOException {
+    var slackStub = new SlackStub(settings);
+    slackStub.server.start();
+    return slackStub;
+  }
+
+  public int port() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * @return number of responses by path and status code, e.g. {@code "/webhook 429" -> 12}
+   */
+  public Map<String, Long> responses() {
+    var snapshot = new TreeMap<String, Long>();
+    responses.forEach((key, count) -> snapshot.put(key, count.sum()));
+    return snapshot;
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange; InputStream body = exchange.getRequestBody()) {
+      body.transferTo(OutputStream.nullOutputStream());
+      sleep(settings.latency().plusMillis(settings.jitter().isZero() ? 0 : ThreadLocalRandom.current().nextLong(settings.jitter().toMillis() + 1)));
+
+      String path = exchange.getRequestURI().getPath();
+      double draw = ThreadLocalRandom.current().nextDouble();
+      if (draw < settings.rateLimitedRatio()) {
+        exchange.getResponseHeaders().add("Retry-After", String.valueOf(settings.retryAfter().toSeconds()));
+        respond(exchange, path, 429, RATE_LIMITED);
+      } else if (draw < settings.rateLimitedRatio() + settings.serverErrorRatio()) {
+        respond(exchange, path, 500, SERVER_ERROR);
+      } else {
+        respond(exchange, path, 200, path.startsWith("/api/") ? WEB_API_OK : WEBHOOK_OK);
+      }
+    }
+  }
+
+  private void respond(HttpExchange exchange, String path, int status, byte[] body) throws IOException {
+    responses.computeIfAbsent(path + " " + status, __ -> new LongAdder()).increment();
+    exchange.sendResponseHeaders(status, body.length);
+    exchange.getResponseBody().write(body);
+  }
+
+  private static void sleep(Duration duration) {
+    try {
+      Thread.sleep(duration);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+
+  /**
+   * Runs the stub on its own, until the process is stopped.
+   */
+  public static void main(String[] args) throws IOException {
+    Settings settings = Settings.fromSystemProperties();
+    SlackStub slackStub = start(settings);
+    System.out.println("Slack stub listening on http://localhost:" + slackStub.port() + " with " + settings);
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      slackStub.close();
+      System.out.println("Slack stub responses: " + slackStub.responses());
+    }));
+  }
+}
@@ -0,0 +1,23 @@
+package io.kalix.api;
+
+/**
+ * Sent by Slack to the options load URL while the user types into an external select.
+ * <pre>
+ * {
+ *    "type":"block_suggestion",
+ *    "user":{
+ *       "id":"U06AJ1JA509",
+ *       "username":"andrzej.ludwikowski",
+ *       "name":"andrzej.ludwikowski",
+ *       "team_id":"T06A2ECBTSR"
+ *    },
+ *    "token":"123",
+ *    "action_id":"cfp_id",
+ *    "block_id":"cfp_id",
+ *    "value":"scal",
+ *    "view":{...}
+ * }
+ * </pre>
+ */
+public record BlockSuggestion(String type, String token, String actionId, String value) {
+}
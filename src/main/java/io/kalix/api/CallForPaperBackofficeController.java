@@ -1,22 +1,163 @@
 package io.kalix.api;
 
+import com.typesafe.config.Config;
+import io.kalix.api.CallForPaperImport.ParsedRow;
+import io.kalix.api.CallForPaperImport.Prepared;
+import io.kalix.api.ImportReport.ImportRowResult;
+import io.kalix.api.ImportReport.Status;
+import io.kalix.application.CallForPaperCreation;
 import io.kalix.application.CallForPaperEntity;
+import io.kalix.application.CallForPaperExistsException;
+import io.kalix.application.CallForPaperIds;
+import io.kalix.application.CreateCallForPaper;
+import io.kalix.application.NotificationTick;
 import io.kalix.application.Notify;
+import io.kalix.application.RetentionSweep;
+import io.kalix.application.UpdateCallForPaper;
+import io.kalix.domain.CallForPaper;
 import io.kalix.domain.CallForPaperReminder;
+import io.kalix.view.AllCallForPaperView;
+import io.kalix.view.CallForPaperList;
+import io.kalix.view.CallForPaperPage;
+import io.kalix.view.PageToken;
 import kalix.javasdk.HttpResponse;
+import kalix.javasdk.StatusCode;
 import kalix.javasdk.action.Action;
 import kalix.javasdk.client.ComponentClient;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RequestMapping("/cfp/backoffice")
 public class CallForPaperBackofficeController extends Action {
 
   private final ComponentClient componentClient;
+  private final Config config;
+  private final Clock clock;
+  private final CallForPaperSearchIndex callForPaperSearchIndex;
+
+  public CallForPaperBackofficeController(ComponentClient componentClient, Config config, Clock clock, CallForPaperSearchIndex callForPaperSearchIndex) {
+    this.componentClient = componentClient;
+    this.config = config;
+    this.clock = clock;
+    this.callForPaperSearchIndex = callForPaperSearchIndex;
+  }
+
 
-  public CallForPaperBackofficeController(ComponentClient componentClient) {this.componentClient = componentClient;}
+  @GetMapping("/cfps")
+  public Action.Effect<CallForPapersPageResponse> getCallForPapers(@RequestParam(required = false) String pageToken, @RequestParam(defaultValue = "100") int pageSize) {
+    PageToken token;
+    try {
+      token = PageToken.parse(pageToken);
+    } catch (IllegalArgumentException e) {
+      return effects().error(e.getMessage(), StatusCode.ErrorCode.BAD_REQUEST);
+    }
+    if (pageSize < 1 || pageSize > 1000) {
+      return effects().error("Page size must be between 1 and 1000", StatusCode.ErrorCode.BAD_REQUEST);
+    }
+    return effects().asyncReply(
+      componentClient
+        .forView()
+        .call(AllCallForPaperView::getCallForPapersPage)
+        .params(token.afterDeadlineInEpochDays(), token.afterId(), pageSize)
+        .execute()
+        .thenApply(CallForPapersPageResponse::of));
+  }
 
+  /**
+   * Cfps matching the query by conference name or link host, including the closed ones, ordered by deadline.
+   */
+  @GetMapping("/search")
+  public Action.Effect<CallForPaperList> search(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+    if (limit < 1 || limit > 1000) {
+      return effects().error("Limit must be between 1 and 1000", StatusCode.ErrorCode.BAD_REQUEST);
+    }
+    return effects().asyncReply(callForPaperSearchIndex.fresh(componentClient)
+      .thenApply(index -> new CallForPaperList(index.search(q, Long.MIN_VALUE, limit))));
+  }
+
+  /**
+   * Creates cfps from NDJSON or CSV rows, with at most {@code cfp.notifier.import.parallelism} entity calls in flight.
+   * Rows that are invalid, or have the same name and deadline as another row or an existing cfp, are skipped.
+   * Imported cfps are created silent, they are not announced on Slack.
+   */
+  @PostMapping("/import")
+  public Action.Effect<ImportReport> importCallForPapers(@RequestBody ImportCallForPapers importCallForPapers) {
+    List<ParsedRow> rows;
+    try {
+      rows = CallForPaperImport.parse(importCallForPapers.format(), importCallForPapers.content() == null ? "" : importCallForPapers.content(), importCallForPapers.userName());
+    } catch (IllegalArgumentException e) {
+      return effects().error(e.getMessage(), StatusCode.ErrorCode.BAD_REQUEST);
+    }
+    int maxRows = config.getInt("cfp.notifier.import.max-rows");
+    if (rows.size() > maxRows) {
+      return effects().error("Too many rows: " + rows.size() + ", max: " + maxRows, StatusCode.ErrorCode.BAD_REQUEST);
+    }
+    int parallelism = config.getInt("cfp.notifier.import.parallelism");
+    Prepared prepared = CallForPaperImport.prepare(rows, LocalDate.ofInstant(clock.instant(), clock.getZone()));
+
+    Mono<ImportReport> report = existingDedupKeys(prepared.candidates(), parallelism)
+      .flatMapMany(existing -> Flux.fromIterable(prepared.candidates())
+        .flatMap(row -> existing.contains(dedupKey(row.createCallForPaper()))
+          ? Mono.just(new ImportRowResult(row.row(), Status.DUPLICATE, null, "Already exists"))
+          : create(row), parallelism))
+      .collectList()
+      .map(created -> {
+        List<ImportRowResult> results = new ArrayList<>(prepared.results());
+        results.addAll(created);
+        results.sort(Comparator.comparingInt(ImportRowResult::row));
+        return ImportReport.of(results);
+      });
+    return effects().asyncReply(report.toFuture());
+  }
+
+  private Mono<Set<String>> existingDedupKeys(List<ParsedRow> candidates, int parallelism) {
+    return Flux.fromIterable(candidates.stream().map(row -> row.createCallForPaper().deadline()).distinct().toList())
+      .flatMap(deadline -> Mono.fromCompletionStage(() -> componentClient.forView()
+        .call(AllCallForPaperView::getCallForPapersByDeadline)
+        .params(deadline.toEpochDay())
+        .execute()), parallelism)
+      .flatMapIterable(CallForPaperList::callForPaperViews)
+      .map(view -> CallForPaperImport.dedupKey(view.conferenceName(), LocalDate.parse(view.deadline())))
+      .collect(Collectors.toSet());
+  }
+
+  private Mono<ImportRowResult> create(ParsedRow row) {
+    String cfpId = config.getBoolean("cfp.notifier.deterministic-ids") ? CallForPaperIds.of(row.createCallForPaper()) : UUID.randomUUID().toString();
+    return Mono.fromCompletionStage(() -> CallForPaperCreation.createOrFindSame(componentClient, cfpId, row.createCallForPaper()))
+      .map(result -> result.created()
+        ? new ImportRowResult(row.row(), Status.CREATED, cfpId, null)
+        : new ImportRowResult(row.row(), Status.DUPLICATE, cfpId, "Already exists"))
+      .onErrorResume(throwable -> Mono.just(CallForPaperExistsException.isCause(throwable)
+        ? new ImportRowResult(row.row(), Status.DUPLICATE, cfpId, "Already exists")
+        : new ImportRowResult(row.row(), Status.FAILED, cfpId, throwable.getMessage())));
+  }
+
+  private static String dedupKey(CreateCallForPaper createCallForPaper) {
+    return CallForPaperImport.dedupKey(createCallForPaper.conferenceName(), createCallForPaper.deadline());
+  }
+
+  @PutMapping("/cfps/{cfpId}")
+  public Action.Effect<CallForPaper> updateCallForPaper(@PathVariable String cfpId, @RequestBody UpdateCallForPaper updateCallForPaper) {
+    return effects().forward(componentClient.forValueEntity(cfpId)
+      .call(CallForPaperEntity::update)
+      .params(updateCallForPaper));
+  }
 
   @PostMapping("/trigger-notification/{cfpId}")
   public Action.Effect<HttpResponse> triggerNotification(@PathVariable String cfpId) {
@@ -25,11 +166,29 @@ public class CallForPaperBackofficeController extends Action {
       componentClient
         .forValueEntity(cfpId)
         .call(CallForPaperEntity::get).execute()
-        .thenApply(callForPaper ->
+        .thenCompose(callForPaper ->
           componentClient
             .forAction()
             .call(Notify::runNotification)
             .params(CallForPaperReminder.of(callForPaper, 0)).execute())
         .thenApply(__ -> HttpResponse.ok()));
   }
+
+  @PostMapping("/trigger-notification-tick")
+  public Action.Effect<HttpResponse> triggerNotificationTick() {
+    return effects().asyncReply(
+      componentClient
+        .forAction()
+        .call(NotificationTick::tick).execute()
+        .thenApply(__ -> HttpResponse.ok()));
+  }
+
+  @PostMapping("/trigger-retention-sweep")
+  public Action.Effect<HttpResponse> triggerRetentionSweep() {
+    return effects().asyncReply(
+      componentClient
+        .forAction()
+        .call(RetentionSweep::sweep).execute()
+        .thenApply(__ -> HttpResponse.ok()));
+  }
 }
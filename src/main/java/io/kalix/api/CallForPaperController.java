@@ -1,20 +1,29 @@
 package io.kalix.api;
 
 import com.typesafe.config.Config;
+import io.kalix.application.AddCallForPaper;
+import io.kalix.application.AnnounceCallForPaper;
+import io.kalix.application.ApplicationMetrics;
+import io.kalix.application.CallForPaperCreation;
+import io.kalix.application.CallForPaperCreator;
 import io.kalix.application.CallForPaperEntity;
+import io.kalix.application.CallForPaperExistsException;
+import io.kalix.application.CallForPaperIds;
+import io.kalix.application.CallForPaperValidator;
 import io.kalix.application.CreateCallForPaper;
 import io.kalix.application.SlackClient;
 import io.kalix.application.SlackResponse;
+import io.kalix.application.TracingSlackClient;
+import io.kalix.application.UndeliveredChannelsException;
 import io.kalix.view.AllCallForPaperView;
 import io.kalix.view.CallForPaperList;
 import io.kalix.view.CallForPaperView;
-import io.opentelemetry.api.trace.Span;
-import io.opentelemetry.api.trace.SpanKind;
 import kalix.javasdk.HttpResponse;
 import kalix.javasdk.StatusCode;
 import kalix.javasdk.action.Action;
 import kalix.javasdk.annotations.Acl;
 import kalix.javasdk.client.ComponentClient;
+import kalix.javasdk.timer.TimerScheduler;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,9 +31,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 import static kalix.javasdk.StatusCode.Success.OK;
@@ -38,6 +52,12 @@ public class CallForPaperController extends Action {
   private final ComponentClient componentClient;
   private final SlackClient slackClient;
   private final Config config;
+  private final CallForPaperListCache callForPaperListCache;
+  private final CallForPaperSearchIndex callForPaperSearchIndex;
+  private final ApplicationMetrics metrics;
+  private final Clock clock;
+  // Slack external_select accepts up to 100 options
+  final static int MAX_OPTIONS = 100;
   final static String DELETE_CFP_CALLBACK_ID = "delete_cfp";
   final static String DELETE_CFP_ID_FIELD = "cfp_id";
   final static String ADD_CFP_CALLBACK_ID = "add_cfp";
@@ -46,10 +66,14 @@ public class CallForPaperController extends Action {
   final static String CONFERENCE_CFP_DEADLINE_FIELD = "conference_cfp_deadline";
 
 
-  public CallForPaperController(ComponentClient componentClient, SlackClient slackClient, Config config) {
+  public CallForPaperController(ComponentClient componentClient, SlackClient slackClient, Config config, CallForPaperListCache callForPaperListCache, CallForPaperSearchIndex callForPaperSearchIndex, ApplicationMetrics metrics, Clock clock) {
     this.componentClient = componentClient;
     this.slackClient = slackClient;
     this.config = config;
+    this.callForPaperListCache = callForPaperListCache;
+    this.callForPaperSearchIndex = callForPaperSearchIndex;
+    this.metrics = metrics;
+    this.clock = clock;
   }
 
   @PostMapping("/list")
@@ -59,19 +83,51 @@ public class CallForPaperController extends Action {
       return effects().error("Access denied", StatusCode.ErrorCode.FORBIDDEN);
     }
 
-    CompletionStage<CallForPaperList> cfps = componentClient
+    long today = LocalDate.now().toEpochDay();
+    Optional<byte[]> cachedPayload = callForPaperListCache.get(today);
+    if (cachedPayload.isPresent()) {
+      return effects().reply(HttpResponse.of(OK, "application/json", cachedPayload.get()));
+    }
+
+    long generation = callForPaperListCache.generation();
+    CompletionStage<CallForPaperList> cfps = metrics.timeViewQuery("getOpenCallForPapers", () -> componentClient
       .forView()
       .call(AllCallForPaperView::getOpenCallForPapers)
-      .params(LocalDate.now().toEpochDay())
-      .execute();
+      .params(today)
+      .execute());
 
     return effects().asyncReply(cfps.thenApply(callForPaperList -> {
         var payload = slackClient.getCfpsListPayload(callForPaperList.callForPaperViews());
-        return HttpResponse.of(OK, "application/json", payload.getBytes());
+        callForPaperListCache.put(today, generation, payload);
+        return HttpResponse.of(OK, "application/json", payload);
       }
     ));
   }
 
+  /**
+   * The /search slash command, open cfps matching the text, see {@link CallForPaperSearchIndex}.
+   */
+  @PostMapping("/search")
+  public Effect<HttpResponse> search(@RequestParam String token, @RequestParam(required = false) String text) {
+
+    if (notValid(token)) {
+      return effects().error("Access denied", StatusCode.ErrorCode.FORBIDDEN);
+    }
+    if (text == null || text.isBlank()) {
+      return effects().reply(HttpResponse.ok("Usage: /search <conference name or link>"));
+    }
+
+    long today = LocalDate.now(clock).toEpochDay();
+    int maxResults = config.getInt("cfp.notifier.search.max-results");
+    return effects().asyncReply(callForPaperSearchIndex.fresh(componentClient).thenApply(index -> {
+      List<CallForPaperView> found = index.search(text, today, maxResults);
+      if (found.isEmpty()) {
+        return HttpResponse.ok("No open call for papers found for: " + text);
+      }
+      return HttpResponse.of(OK, "application/json", slackClient.getCfpsListPayload(found));
+    }));
+  }
+
   private boolean notValid(String token) {
     boolean notValid = !config.getString("cfp.notifier.verification-token").equals(token);
     if (notValid) {
@@ -87,14 +143,8 @@ public class CallForPaperController extends Action {
       return effects().error("Access denied", StatusCode.ErrorCode.FORBIDDEN);
     }
 
-    CompletionStage<CallForPaperList> cfps = componentClient
-      .forView()
-      .call(AllCallForPaperView::getOpenCallForPapers)
-      .params(LocalDate.now().toEpochDay())
-      .execute();
-
-    CompletionStage<Effect<HttpResponse>> openDeleteView = cfps.thenCompose(callForPaperList ->
-        slackClient.openCfpsToDelete(callForPaperList.callForPaperViews(), triggerId, DELETE_CFP_CALLBACK_ID, DELETE_CFP_ID_FIELD))
+    CompletionStage<Effect<HttpResponse>> openDeleteView = tracedSlackClient()
+      .openCfpsToDelete(triggerId, DELETE_CFP_CALLBACK_ID, DELETE_CFP_ID_FIELD)
       .thenApply(res -> switch (res) {
         case SlackResponse.Response response -> {
           if (response.code() != 200) {
@@ -112,13 +162,41 @@ public class CallForPaperController extends Action {
     return effects().asyncEffect(openDeleteView);
   }
 
+  /**
+   * Options load URL of the Slack app, suggests open cfps for the external select of the delete modal. An empty query
+   * lists the first open cfps by deadline.
+   */
+  @PostMapping("/options")
+  public Effect<HttpResponse> loadOptions(@RequestParam String payload) {
+
+    Optional<BlockSuggestion> validBlockSuggestion = ViewSubmissionParser.parseBlockSuggestion(payload, token -> !notValid(token));
+    if (validBlockSuggestion.isEmpty()) {
+      return effects().error("Access denied", StatusCode.ErrorCode.FORBIDDEN);
+    }
+
+    BlockSuggestion blockSuggestion = validBlockSuggestion.get();
+    if (!DELETE_CFP_ID_FIELD.equals(blockSuggestion.actionId())) {
+      logger.info("Unknown actionId {}", blockSuggestion.actionId());
+      return effects().reply(HttpResponse.of(OK, "application/json", slackClient.getCfpOptionsPayload(List.of())));
+    }
+
+    long today = LocalDate.now(clock).toEpochDay();
+    String query = blockSuggestion.value();
+    return effects().asyncReply(callForPaperSearchIndex.fresh(componentClient).thenApply(index -> {
+      List<CallForPaperView> options = query == null || query.isBlank()
+        ? index.first(today, MAX_OPTIONS)
+        : index.search(query, today, MAX_OPTIONS);
+      return HttpResponse.of(OK, "application/json", slackClient.getCfpOptionsPayload(options));
+    }));
+  }
+
   @PostMapping("/add")
   public Effect<HttpResponse> openAddView(@RequestParam String token, @RequestParam("trigger_id") String triggerId) {
     if (notValid(token)) {
       return effects().error("Access denied", StatusCode.ErrorCode.FORBIDDEN);
     }
     logger.debug("Processing cfp add request, opening add dialog");
-    CompletionStage<Effect<HttpResponse>> openAddView = slackClient.openAddCfp(triggerId, ADD_CFP_CALLBACK_ID, CONFERENCE_NAME_FIELD, CONFERENCE_LINK_FIELD, CONFERENCE_CFP_DEADLINE_FIELD)
+    CompletionStage<Effect<HttpResponse>> openAddView = tracedSlackClient().openAddCfp(triggerId, ADD_CFP_CALLBACK_ID, CONFERENCE_NAME_FIELD, CONFERENCE_LINK_FIELD, CONFERENCE_CFP_DEADLINE_FIELD)
       .thenApply(res -> switch (res) {
         case SlackResponse.Response response -> {
           if (response.code() != 200) {
@@ -139,15 +217,16 @@ public class CallForPaperController extends Action {
   @PostMapping("/submit")
   public Effect<HttpResponse> submit(@RequestParam String payload) {
 
-    ViewSubmission viewSubmission = ViewSubmissionParser.parse(payload);
-
     logger.trace("Payload: {}", payload);
-    logger.trace("View submission: {}", viewSubmission);
 
-    if (notValid(viewSubmission.token())) {
+    Optional<ViewSubmission> validViewSubmission = ViewSubmissionParser.parse(payload, token -> !notValid(token));
+    if (validViewSubmission.isEmpty()) {
       return effects().error("Access denied", StatusCode.ErrorCode.FORBIDDEN);
     }
 
+    ViewSubmission viewSubmission = validViewSubmission.get();
+    logger.trace("View submission: {}", viewSubmission);
+
     if (viewSubmission.type().equals("view_submission")) {
       if (viewSubmission.view().callbackId().equals(DELETE_CFP_CALLBACK_ID)) {
         return handleDelete(viewSubmission);
@@ -165,7 +244,8 @@ public class CallForPaperController extends Action {
 
   private Effect<HttpResponse> handleDelete(ViewSubmission viewSubmission) {
     String cfpId = viewSubmission.view().state().getValues().get(DELETE_CFP_ID_FIELD).get(DELETE_CFP_ID_FIELD).getSelectedOption().getValue();
-    CompletionStage<Effect<HttpResponse>> deleteCfp = componentClient.forValueEntity(cfpId).call(CallForPaperEntity::delete).execute()
+    CompletionStage<Effect<HttpResponse>> deleteCfp = metrics.timeEntityCommand("call-for-paper", "delete", () ->
+        componentClient.forValueEntity(cfpId).call(CallForPaperEntity::delete).execute())
       .handle((s, throwable) -> {
         if (throwable != null) {
           logger.error("Failed to delete cfp: " + cfpId, throwable);
@@ -182,27 +262,45 @@ public class CallForPaperController extends Action {
     String conferenceName = viewSubmission.view().state().getValues().get(CONFERENCE_NAME_FIELD).get(CONFERENCE_NAME_FIELD).getValue();
     String conferenceLink = viewSubmission.view().state().getValues().get(CONFERENCE_LINK_FIELD).get(CONFERENCE_LINK_FIELD).getValue();
     String conferenceCfpDeadline = viewSubmission.view().state().getValues().get(CONFERENCE_CFP_DEADLINE_FIELD).get(CONFERENCE_CFP_DEADLINE_FIELD).getSelectedDate();
-    var cfpId = UUID.randomUUID().toString();
     CreateCallForPaper callForPaper = new CreateCallForPaper(conferenceName, LocalDate.parse(conferenceCfpDeadline), conferenceLink, viewSubmission.user().username());
+    var cfpId = config.getBoolean("cfp.notifier.deterministic-ids") ? CallForPaperIds.of(callForPaper) : UUID.randomUUID().toString();
 
-    CompletionStage<Effect<HttpResponse>> addCfp = componentClient.forValueEntity(cfpId)
-      .call(CallForPaperEntity::create)
-      .params(callForPaper)
-      .execute()
-      .thenCompose(cfp -> {
-        Optional<Span> span = startSpan("slack-api-post-new-cfp");
-        return slackClient.postNewCfp(CallForPaperView.of(cfp)).thenApply(response -> {
-            span.ifPresent(Span::end);
-            return response;
-          }
-        );
+    if (config.getBoolean("cfp.notifier.fast-ack.enabled")) {
+      return fastAckAdd(cfpId, callForPaper);
+    }
+
+    SlackClient slackClient = tracedSlackClient();
+    TimerScheduler timers = timers();
+    Duration retryDelay = config.getDuration("cfp.notifier.announce-retry-delay");
+    CompletionStage<Effect<HttpResponse>> addCfp = metrics.timeEntityCommand("call-for-paper", "create", () ->
+        CallForPaperCreation.createOrFindSame(componentClient, cfpId, callForPaper))
+      .thenCompose(result -> {
+        if (result.created()) {
+          return AnnounceCallForPaper.postNewCfp(slackClient, timers, componentClient, result.callForPaper(), metrics)
+            .thenCompose(response -> AnnounceCallForPaper.isRetryable(response)
+              ? AnnounceCallForPaper.scheduleAnnouncement(timers, componentClient, cfpId, retryDelay).thenApply(__ -> response)
+              : CompletableFuture.completedStage(response))
+            .thenApply(Optional::of);
+        } else if (result.callForPaper().announced()) {
+          return CompletableFuture.completedStage(Optional.<SlackResponse>empty());
+        } else {
+          // the request that created the cfp could still be posting it, the timer announces it if that request failed
+          return AnnounceCallForPaper.scheduleAnnouncement(timers, componentClient, cfpId, retryDelay)
+            .thenApply(__ -> Optional.<SlackResponse>empty());
+        }
       })
-      .handle((result, throwable) -> {
-        if (throwable != null) {
+      .handle((slackResponse, throwable) -> {
+        if (throwable != null && CallForPaperExistsException.isCause(throwable)) {
+          logger.info("Cfp {} already exists with different content, rejecting submission: {}", cfpId, callForPaper);
+          return effects().error("Cfp already exists: " + callForPaper.conferenceName(), StatusCode.ErrorCode.CONFLICT);
+        } else if (throwable != null) {
           logger.error("Failed to add cfp: " + callForPaper, throwable);
           return effects().error("Failed to add cfp: " + callForPaper);
+        } else if (slackResponse.isEmpty()) {
+          logger.info("Cfp {} already added, ignoring repeated submission", cfpId);
+          return effects().reply(HttpResponse.ok());
         } else {
-          return switch (result) {
+          return switch (slackResponse.get()) {
             case SlackResponse.Response response -> {
               if (response.code() != 200) {
                 logger.error("Failed to post new cfp {}, status: {}, msg: {}", callForPaper, response.code(), response.message());
@@ -211,8 +309,12 @@ public class CallForPaperController extends Action {
               }
               yield effects().reply(HttpResponse.ok());
             }
+            case SlackResponse.Failure failure when UndeliveredChannelsException.isCause(failure) -> {
+              logger.warn("Added cfp {}, retrying its announcement: {}", callForPaper, failure.message());
+              yield effects().reply(HttpResponse.ok());
+            }
             case SlackResponse.Failure failure -> {
-              logger.error("Failed to post new cfp: " + callForPaper, failure.exception());
+              logger.error("Failed to post new cfp, retrying it: " + callForPaper, failure.exception());
               yield effects().reply(HttpResponse.ok());
             }
           };
@@ -221,13 +323,36 @@ public class CallForPaperController extends Action {
     return effects().asyncEffect(addCfp);
   }
 
-  private Optional<Span> startSpan(String spanName) {
-    var otelCurrentContext = actionContext().metadata().traceContext().asOpenTelemetryContext();
-    Optional<Span> span = actionContext().getOpenTelemetryTracer().map(tracer -> tracer
-      .spanBuilder(spanName)
-      .setParent(otelCurrentContext)
-      .setSpanKind(SpanKind.CLIENT)
-      .startSpan());
-    return span;
+  /**
+   * Validates the cfp and replies right after starting a timer that creates it with the {@link CallForPaperCreator}.
+   * The timer is stored before the reply, so an acknowledged cfp is not lost. It's announced by the
+   * {@link io.kalix.application.NewCallForPaperAnnouncer} once created.
+   */
+  private Effect<HttpResponse> fastAckAdd(String cfpId, CreateCallForPaper callForPaper) {
+    Instant submittedAt = clock.instant();
+    Optional<String> invalid = CallForPaperValidator.validate(callForPaper, LocalDate.now(clock));
+    if (invalid.isPresent()) {
+      logger.info("Invalid cfp {}: {}", callForPaper, invalid.get());
+      return effects().error("Invalid cfp: " + invalid.get(), StatusCode.ErrorCode.BAD_REQUEST);
+    }
+    CompletionStage<Effect<HttpResponse>> addCfp = timers().startSingleTimer(
+        CallForPaperCreator.timerName(cfpId),
+        Duration.ZERO,
+        componentClient.forAction().call(CallForPaperCreator::create).params(new AddCallForPaper(cfpId, callForPaper, submittedAt)))
+      .handle((__, throwable) -> {
+        if (throwable != null) {
+          logger.error("Failed to add cfp: " + callForPaper, throwable);
+          return effects().error("Failed to add cfp: " + callForPaper);
+        } else {
+          metrics.addCallForPaperStage("ack", Duration.between(submittedAt, clock.instant()));
+          logger.info("Accepted cfp {}: {}", cfpId, callForPaper);
+          return effects().reply(HttpResponse.ok());
+        }
+      });
+    return effects().asyncEffect(addCfp);
+  }
+
+  private SlackClient tracedSlackClient() {
+    return TracingSlackClient.of(slackClient, actionContext());
   }
 }
@@ -0,0 +1,69 @@
+package io.kalix.api;
+
+import com.typesafe.config.Config;
+import io.kalix.view.AllCallForPaperView;
+import io.kalix.view.CallForPaperPage;
+import io.kalix.view.PageToken;
+import kalix.javasdk.HttpResponse;
+import kalix.javasdk.action.Action;
+import kalix.javasdk.client.ComponentClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.CompletionStage;
+
+import static kalix.javasdk.StatusCode.Success.OK;
+
+/**
+ * Exports all cfps, page by page, using the keyset pagination of {@link AllCallForPaperView}. Only a single page of
+ * views is kept in memory, each page is rendered right away and appended to the response body.
+ * <p>
+ * The export is a single plain response, Kalix serves a streamed action response as server-sent events, which CSV and
+ * NDJSON clients can't read. The component client can't consume streaming view queries, that's why pages are used
+ * here. The same data is also available as a streaming view query at {@code /cfps/stream}.
+ */
+@RequestMapping("/cfp/export")
+public class CallForPaperExportController extends Action {
+
+  private final ComponentClient componentClient;
+  private final int pageSize;
+
+  public CallForPaperExportController(ComponentClient componentClient, Config config) {
+    this.componentClient = componentClient;
+    this.pageSize = config.getInt("cfp.notifier.export.page-size");
+  }
+
+  @GetMapping("/ndjson")
+  public Effect<HttpResponse> exportNdjson() {
+    return export(CallForPaperExportFormat.NDJSON);
+  }
+
+  @GetMapping("/csv")
+  public Effect<HttpResponse> exportCsv() {
+    return export(CallForPaperExportFormat.CSV);
+  }
+
+  private Effect<HttpResponse> export(CallForPaperExportFormat format) {
+    var body = new ByteArrayOutputStream();
+    body.writeBytes(format.header());
+    CompletionStage<HttpResponse> export = fetchPage(PageToken.FIRST)
+      .expand(page -> page.nextPageToken() == null ? Mono.empty() : fetchPage(page.nextPageToken()))
+      .filter(page -> !page.callForPaperViews().isEmpty())
+      .reduce(body, (rendered, page) -> {
+        rendered.writeBytes(format.rows(page.callForPaperViews()));
+        return rendered;
+      })
+      .map(rendered -> HttpResponse.of(OK, format.contentType, rendered.toByteArray()))
+      .toFuture();
+    return effects().asyncReply(export);
+  }
+
+  private Mono<CallForPaperPage> fetchPage(PageToken pageToken) {
+    return Mono.fromCompletionStage(() -> componentClient.forView()
+      .call(AllCallForPaperView::getCallForPapersPage)
+      .params(pageToken.afterDeadlineInEpochDays(), pageToken.afterId(), pageSize)
+      .execute());
+  }
+}
@@ -0,0 +1,90 @@
+package io.kalix.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.kalix.view.CallForPaperView;
+import kalix.javasdk.JsonSupport;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Renders a page of exported cfps, appended to the export response as it is fetched.
+ */
+enum CallForPaperExportFormat {
+
+  NDJSON("application/x-ndjson") {
+    @Override
+    byte[] header() {
+      return new byte[0];
+    }
+
+    @Override
+    byte[] rows(List<CallForPaperView> callForPapers) {
+      StringBuilder chunk = new StringBuilder(callForPapers.size() * 160);
+      for (CallForPaperView callForPaper : callForPapers) {
+        try {
+          chunk.append(JsonSupport.getObjectMapper().writeValueAsString(callForPaper)).append('\n');
+        } catch (JsonProcessingException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      return chunk.toString().getBytes(StandardCharsets.UTF_8);
+    }
+  },
+
+  CSV("text/csv") {
+    @Override
+    byte[] header() {
+      return "id,conferenceName,deadline,conferenceLink\n".getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    byte[] rows(List<CallForPaperView> callForPapers) {
+      StringBuilder chunk = new StringBuilder(callForPapers.size() * 128);
+      for (CallForPaperView callForPaper : callForPapers) {
+        appendField(chunk, callForPaper.id()).append(',');
+        appendField(chunk, callForPaper.conferenceName()).append(',');
+        appendField(chunk, callForPaper.deadline()).append(',');
+        appendField(chunk, callForPaper.conferenceLink()).append('\n');
+      }
+      return chunk.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * RFC 4180, fields with a separator, a quote or a line break are quoted, quotes are doubled.
+     */
+    private static StringBuilder appendField(StringBuilder chunk, String value) {
+      if (value == null) {
+        return chunk;
+      }
+      boolean quote = false;
+      for (int i = 0; i < value.length() && !quote; i++) {
+        char c = value.charAt(i);
+        quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+      }
+      if (!quote) {
+        return chunk.append(value);
+      }
+      chunk.append('"');
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        if (c == '"') {
+          chunk.append('"');
+        }
+        chunk.append(c);
+      }
+      return chunk.append('"');
+    }
+  };
+
+  final String contentType;
+
+  CallForPaperExportFormat(String contentType) {
+    this.contentType = contentType;
+  }
+
+  abstract byte[] header();
+
+  abstract byte[] rows(List<CallForPaperView> callForPapers);
+}
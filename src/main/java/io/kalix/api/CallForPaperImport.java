@@ -0,0 +1,199 @@
+package io.kalix.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.kalix.api.ImportReport.ImportRowResult;
+import io.kalix.api.ImportReport.Status;
+import io.kalix.application.CallForPaperValidator;
+import io.kalix.application.CreateCallForPaper;
+import kalix.javasdk.JsonSupport;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Parsing, validation and deduplication of bulk imported cfps, everything that doesn't need the entities or the view.
+ */
+final class CallForPaperImport {
+
+  private static final String CONFERENCE_NAME = "conferenceName";
+  private static final String DEADLINE = "deadline";
+  private static final String CONFERENCE_LINK = "conferenceLink";
+
+  /**
+   * A row that could be parsed, or the reason why it couldn't.
+   */
+  record ParsedRow(int row, CreateCallForPaper createCallForPaper, String error) {
+  }
+
+  /**
+   * @param results    rows rejected without calling the entities, invalid or duplicated within the batch
+   * @param candidates valid rows to create, unique within the batch
+   */
+  record Prepared(List<ImportRowResult> results, List<ParsedRow> candidates) {
+  }
+
+  private CallForPaperImport() {
+  }
+
+  static List<ParsedRow> parse(String format, String content, String userName) {
+    return switch (format == null ? "" : format.toLowerCase(Locale.ROOT)) {
+      case "ndjson" -> parseNdjson(content, userName);
+      case "csv" -> parseCsv(content, userName);
+      default -> throw new IllegalArgumentException("Unsupported import format: " + format + ", expected ndjson or csv");
+    };
+  }
+
+  static Prepared prepare(List<ParsedRow> rows, LocalDate today) {
+    List<ImportRowResult> results = new ArrayList<>();
+    List<ParsedRow> candidates = new ArrayList<>(rows.size());
+    Set<String> seen = new HashSet<>();
+    for (ParsedRow row : rows) {
+      if (row.error() != null) {
+        results.add(new ImportRowResult(row.row(), Status.INVALID, null, row.error()));
+        continue;
+      }
+      Optional<String> invalid = CallForPaperValidator.validate(row.createCallForPaper(), today);
+      if (invalid.isPresent()) {
+        results.add(new ImportRowResult(row.row(), Status.INVALID, null, invalid.get()));
+      } else if (!seen.add(dedupKey(row.createCallForPaper().conferenceName(), row.createCallForPaper().deadline()))) {
+        results.add(new ImportRowResult(row.row(), Status.DUPLICATE, null, "Duplicated within the import"));
+      } else {
+        candidates.add(row);
+      }
+    }
+    return new Prepared(results, candidates);
+  }
+
+  /**
+   * Cfps are the same if they have the same name, ignoring case and surrounding whitespace, and deadline.
+   */
+  static String dedupKey(String conferenceName, LocalDate deadline) {
+    return conferenceName.trim().toLowerCase(Locale.ROOT) + "|" + deadline;
+  }
+
+  private static List<ParsedRow> parseNdjson(String content, String userName) {
+    List<ParsedRow> rows = new ArrayList<>();
+    int row = 0;
+    for (String line : content.split("\r?\n")) {
+      if (line.isBlank()) {
+        continue;
+      }
+      row++;
+      try {
+        JsonNode json = JsonSupport.getObjectMapper().readTree(line);
+        rows.add(toRow(row, text(json, CONFERENCE_NAME), text(json, DEADLINE), text(json, CONFERENCE_LINK), userName));
+      } catch (JsonProcessingException e) {
+        rows.add(new ParsedRow(row, null, "Invalid JSON: " + e.getOriginalMessage()));
+      }
+    }
+    return rows;
+  }
+
+  private static String text(JsonNode json, String field) {
+    JsonNode value = json.get(field);
+    return value == null || value.isNull() ? null : value.asText();
+  }
+
+  private static List<ParsedRow> parseCsv(String content, String userName) {
+    List<List<String>> records = CsvReader.read(content);
+    if (records.isEmpty()) {
+      return List.of();
+    }
+    List<String> header = records.getFirst().stream().map(String::trim).toList();
+    int name = header.indexOf(CONFERENCE_NAME);
+    int deadline = header.indexOf(DEADLINE);
+    int link = header.indexOf(CONFERENCE_LINK);
+    if (name < 0 || deadline < 0 || link < 0) {
+      throw new IllegalArgumentException("CSV header must contain " + CONFERENCE_NAME + ", " + DEADLINE + " and " + CONFERENCE_LINK + " columns, got: " + header);
+    }
+    List<ParsedRow> rows = new ArrayList<>(records.size() - 1);
+    for (int i = 1; i < records.size(); i++) {
+      List<String> record = records.get(i);
+      rows.add(toRow(i, field(record, name), field(record, deadline), field(record, link), userName));
+    }
+    return rows;
+  }
+
+  private static String field(List<String> record, int index) {
+    return index < record.size() ? record.get(index) : null;
+  }
+
+  private static ParsedRow toRow(int row, String conferenceName, String deadline, String conferenceLink, String userName) {
+    LocalDate parsedDeadline = null;
+    if (deadline != null && !deadline.isBlank()) {
+      try {
+        parsedDeadline = LocalDate.parse(deadline.trim());
+      } catch (DateTimeParseException e) {
+        return new ParsedRow(row, null, "Invalid deadline: " + deadline);
+      }
+    }
+    return new ParsedRow(row, new CreateCallForPaper(trim(conferenceName), parsedDeadline, trim(conferenceLink), userName, true), null);
+  }
+
+  private static String trim(String value) {
+    return value == null ? null : value.trim();
+  }
+
+  /**
+   * RFC 4180 reader, quoted fields can contain separators, doubled quotes and line breaks.
+   */
+  static final class CsvReader {
+
+    private CsvReader() {
+    }
+
+    static List<List<String>> read(String content) {
+      List<List<String>> records = new ArrayList<>();
+      List<String> record = new ArrayList<>();
+      StringBuilder field = new StringBuilder();
+      boolean quoted = false;
+      boolean empty = true;
+      for (int i = 0; i < content.length(); i++) {
+        char c = content.charAt(i);
+        if (quoted) {
+          if (c == '"' && i + 1 < content.length() && content.charAt(i + 1) == '"') {
+            field.append('"');
+            i++;
+          } else if (c == '"') {
+            quoted = false;
+          } else {
+            field.append(c);
+          }
+        } else if (c == '"') {
+          quoted = true;
+          empty = false;
+        } else if (c == ',') {
+          record.add(field.toString());
+          field.setLength(0);
+          empty = false;
+        } else if (c == '\n' || c == '\r') {
+          if (c == '\r' && i + 1 < content.length() && content.charAt(i + 1) == '\n') {
+            i++;
+          }
+          if (!empty || !field.isEmpty()) {
+            record.add(field.toString());
+            records.add(record);
+          }
+          record = new ArrayList<>();
+          field.setLength(0);
+          empty = true;
+        } else {
+          field.append(c);
+          empty = false;
+        }
+      }
+      if (!empty || !field.isEmpty()) {
+        record.add(field.toString());
+        records.add(record);
+      }
+      return records;
+    }
+  }
+}
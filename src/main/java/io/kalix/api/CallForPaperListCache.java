@@ -0,0 +1,65 @@
+package io.kalix.api;
+
+import com.typesafe.config.Config;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the rendered open cfps list payload for a given epoch day.
+ * <p>
+ * Invalidation comes from the {@link CallForPaperListCacheInvalidator} subscription, which is not synchronized with
+ * the view. Right after an invalidation the view might still return old data, that's why nothing is cached for the
+ * {@code settle-time}. Subscription events are delivered to a single instance of the service, so other instances rely
+ * on the {@code ttl}.
+ */
+@Component
+public class CallForPaperListCache {
+
+  private record Entry(long epochDay, long generation, long cachedAtNanos, byte[] payload) {}
+
+  private final long ttlNanos;
+  private final long settleTimeNanos;
+  private final AtomicLong generation = new AtomicLong();
+  private final AtomicLong noCacheUntilNanos = new AtomicLong(System.nanoTime());
+  private final AtomicReference<Entry> entry = new AtomicReference<>();
+
+  public CallForPaperListCache(Config config) {
+    this.ttlNanos = config.getDuration("cfp.notifier.list-cache.ttl").toNanos();
+    this.settleTimeNanos = config.getDuration("cfp.notifier.list-cache.settle-time").toNanos();
+  }
+
+  public Optional<byte[]> get(long epochDay) {
+    Entry current = entry.get();
+    if (current != null
+      && current.epochDay() == epochDay
+      && current.generation() == generation.get()
+      && System.nanoTime() - current.cachedAtNanos() < ttlNanos) {
+      return Optional.of(current.payload());
+    } else {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * @return the generation that must be passed to {@link #put} once the payload is rendered
+   */
+  public long generation() {
+    return generation.get();
+  }
+
+  public void put(long epochDay, long generation, byte[] payload) {
+    long now = System.nanoTime();
+    if (generation == this.generation.get() && now - noCacheUntilNanos.get() >= 0) {
+      entry.set(new Entry(epochDay, generation, now, payload));
+    }
+  }
+
+  public void invalidate() {
+    noCacheUntilNanos.set(System.nanoTime() + settleTimeNanos);
+    generation.incrementAndGet();
+    entry.set(null);
+  }
+}
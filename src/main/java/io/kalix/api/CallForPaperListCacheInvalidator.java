@@ -0,0 +1,28 @@
+package io.kalix.api;
+
+import akka.Done;
+import io.kalix.application.CallForPaperEntity;
+import io.kalix.domain.CallForPaper;
+import kalix.javasdk.action.Action;
+import kalix.javasdk.annotations.Subscribe;
+
+public class CallForPaperListCacheInvalidator extends Action {
+
+  private final CallForPaperListCache callForPaperListCache;
+
+  public CallForPaperListCacheInvalidator(CallForPaperListCache callForPaperListCache) {
+    this.callForPaperListCache = callForPaperListCache;
+  }
+
+  @Subscribe.ValueEntity(CallForPaperEntity.class)
+  public Effect<Done> onChange(CallForPaper callForPaper) {
+    callForPaperListCache.invalidate();
+    return effects().reply(Done.getInstance());
+  }
+
+  @Subscribe.ValueEntity(value = CallForPaperEntity.class, handleDeletes = true)
+  public Effect<Done> onDelete() {
+    callForPaperListCache.invalidate();
+    return effects().reply(Done.getInstance());
+  }
+}
@@ -0,0 +1,274 @@
+package io.kalix.api;
+
+import com.typesafe.config.Config;
+import io.kalix.view.AllCallForPaperView;
+import io.kalix.view.CallForPaperPage;
+import io.kalix.view.CallForPaperView;
+import io.kalix.view.PageToken;
+import kalix.javasdk.client.ComponentClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index over the conference name and the link host. Every query token must be a prefix of a token of
+ * the cfp, case and accent insensitive, e.g. "scal conf" finds "Scalar" with the link https://www.scalar-conf.com/.
+ * <p>
+ * Kept up to date by the {@link CallForPaperSearchIndexUpdater} subscription. Subscription events are delivered to a
+ * single instance of the service, and the index is empty after a restart, so it's also reloaded from the view every
+ * {@code refresh-interval}. Changes applied while a reload is running win over the (older) view data.
+ * <p>
+ * Lookups don't lock, writes are serialized.
+ */
+@Component
+public class CallForPaperSearchIndex {
+
+  private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+  private static final Comparator<CallForPaperView> BY_DEADLINE = Comparator.comparingLong(CallForPaperView::deadlineInEpochDays)
+    .thenComparing(CallForPaperView::id);
+
+  private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final long refreshIntervalNanos;
+  private final int pageSize;
+  private final Map<String, CallForPaperView> documents = new ConcurrentHashMap<>();
+  private final NavigableMap<String, Set<String>> postings = new ConcurrentSkipListMap<>();
+  // ids changed by the subscription, with the change time, so a reload doesn't revert them
+  private final Map<String, Long> changedAtNanos = new HashMap<>();
+  private final AtomicReference<CompletableFuture<Void>> reloading = new AtomicReference<>();
+  private volatile long loadedAtNanos;
+  private volatile boolean loaded;
+
+  public CallForPaperSearchIndex(Config config) {
+    this.refreshIntervalNanos = config.getDuration("cfp.notifier.search.refresh-interval").toNanos();
+    this.pageSize = config.getInt("cfp.notifier.search.page-size");
+  }
+
+  /**
+   * @return cfps matching all query tokens, with a deadline on or after {@code minDeadlineInEpochDays}, ordered by
+   * deadline
+   */
+  public List<CallForPaperView> search(String query, long minDeadlineInEpochDays, int limit) {
+    List<String> queryTokens = tokens(query);
+    if (queryTokens.isEmpty()) {
+      return List.of();
+    }
+    Set<String> ids = null;
+    for (String queryToken : queryTokens) {
+      Set<String> matching = new HashSet<>();
+      for (Set<String> tokenIds : postings.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false).values()) {
+        matching.addAll(tokenIds);
+      }
+      if (ids == null) {
+        ids = matching;
+      } else {
+        ids.retainAll(matching);
+      }
+      if (ids.isEmpty()) {
+        return List.of();
+      }
+    }
+    return ids.stream()
+      .map(documents::get)
+      .filter(Objects::nonNull)
+      .filter(cfp -> cfp.deadlineInEpochDays() >= minDeadlineInEpochDays)
+      .sorted(BY_DEADLINE)
+      .limit(limit)
+      .toList();
+  }
+
+  /**
+   * @return cfps with a deadline on or after {@code minDeadlineInEpochDays}, ordered by deadline
+   */
+  public List<CallForPaperView> first(long minDeadlineInEpochDays, int limit) {
+    return documents.values().stream()
+      .filter(cfp -> cfp.deadlineInEpochDays() >= minDeadlineInEpochDays)
+      .sorted(BY_DEADLINE)
+      .limit(limit)
+      .toList();
+  }
+
+  public synchronized void put(CallForPaperView callForPaperView) {
+    changedAtNanos.put(callForPaperView.id(), System.nanoTime());
+    index(callForPaperView);
+  }
+
+  public synchronized void remove(String cfpId) {
+    changedAtNanos.put(cfpId, System.nanoTime());
+    unindex(cfpId);
+  }
+
+  /**
+   * Waits for the first load only, later reloads run in the background and searches use the current index.
+   */
+  public CompletionStage<CallForPaperSearchIndex> fresh(ComponentClient componentClient) {
+    if (loaded && System.nanoTime() - loadedAtNanos < refreshIntervalNanos) {
+      return CompletableFuture.completedFuture(this);
+    }
+    CompletableFuture<Void> reload = new CompletableFuture<>();
+    CompletableFuture<Void> running = reloading.compareAndExchange(null, reload);
+    if (running == null) {
+      long startedAtNanos = System.nanoTime();
+      loadPages(componentClient, PageToken.FIRST, new ArrayList<>())
+        .whenComplete((callForPapers, throwable) -> {
+          if (throwable != null) {
+            logger.error("Failed to reload the search index", throwable);
+          } else {
+            reload(callForPapers, startedAtNanos);
+            logger.info("Search index reloaded with {} cfps", callForPapers.size());
+          }
+          reloading.set(null);
+          if (throwable != null) {
+            reload.completeExceptionally(throwable);
+          } else {
+            reload.complete(null);
+          }
+        });
+      running = reload;
+    }
+    return loaded ? CompletableFuture.completedFuture(this) : running.thenApply(__ -> this);
+  }
+
+  private CompletionStage<List<CallForPaperView>> loadPages(ComponentClient componentClient, PageToken pageToken, List<CallForPaperView> loaded) {
+    return componentClient.forView()
+      .call(AllCallForPaperView::getCallForPapersPage)
+      .params(pageToken.afterDeadlineInEpochDays(), pageToken.afterId(), pageSize)
+      .execute()
+      .thenCompose((CallForPaperPage page) -> {
+        loaded.addAll(page.callForPaperViews());
+        PageToken next = page.nextPageToken();
+        return next == null ? CompletableFuture.completedStage(loaded) : loadPages(componentClient, next, loaded);
+      });
+  }
+
+  /**
+   * Replaces the indexed cfps with the ones from the view, except the ones changed since the reload started.
+   */
+  synchronized void reload(List<CallForPaperView> callForPapers, long startedAtNanos) {
+    Set<String> reloaded = new HashSet<>();
+    for (CallForPaperView callForPaperView : callForPapers) {
+      reloaded.add(callForPaperView.id());
+      if (!changedSince(callForPaperView.id(), startedAtNanos)) {
+        index(callForPaperView);
+      }
+    }
+    for (String cfpId : List.copyOf(documents.keySet())) {
+      if (!reloaded.contains(cfpId) && !changedSince(cfpId, startedAtNanos)) {
+        unindex(cfpId);
+      }
+    }
+    changedAtNanos.values().removeIf(changedAt -> changedAt - startedAtNanos < 0);
+    loadedAtNanos = startedAtNanos;
+    loaded = true;
+  }
+
+  private boolean changedSince(String cfpId, long startedAtNanos) {
+    Long changedAt = changedAtNanos.get(cfpId);
+    return changedAt != null && changedAt - startedAtNanos >= 0;
+  }
+
+  private void index(CallForPaperView callForPaperView) {
+    CallForPaperView previous = documents.put(callForPaperView.id(), callForPaperView);
+    Set<String> previousTokens = previous == null ? Set.of() : documentTokens(previous);
+    Set<String> tokens = documentTokens(callForPaperView);
+    for (String token : previousTokens) {
+      if (!tokens.contains(token)) {
+        removePosting(token, callForPaperView.id());
+      }
+    }
+    for (String token : tokens) {
+      postings.computeIfAbsent(token, __ -> ConcurrentHashMap.newKeySet()).add(callForPaperView.id());
+    }
+  }
+
+  private void unindex(String cfpId) {
+    CallForPaperView previous = documents.remove(cfpId);
+    if (previous != null) {
+      for (String token : documentTokens(previous)) {
+        removePosting(token, cfpId);
+      }
+    }
+  }
+
+  private void removePosting(String token, String cfpId) {
+    Set<String> ids = postings.get(token);
+    if (ids != null) {
+      ids.remove(cfpId);
+      if (ids.isEmpty()) {
+        postings.remove(token);
+      }
+    }
+  }
+
+  static Set<String> documentTokens(CallForPaperView callForPaperView) {
+    Set<String> tokens = new HashSet<>(tokens(callForPaperView.conferenceName()));
+    String host = host(callForPaperView.conferenceLink());
+    if (host != null) {
+      String normalizedHost = normalize(host);
+      if (normalizedHost.startsWith("www.")) {
+        normalizedHost = normalizedHost.substring(4);
+      }
+      tokens.add(normalizedHost);
+      // labels without the top level domain, e.g. scalar and conf for scalar-conf.com
+      int tld = normalizedHost.lastIndexOf('.');
+      tokens.addAll(tokens(tld > 0 ? normalizedHost.substring(0, tld) : normalizedHost));
+    }
+    return tokens;
+  }
+
+  /**
+   * Lowercase letters and digits without accents, split on everything else.
+   */
+  static List<String> tokens(String text) {
+    if (text == null || text.isBlank()) {
+      return List.of();
+    }
+    List<String> tokens = new ArrayList<>();
+    String normalized = normalize(text);
+    int start = -1;
+    for (int i = 0; i <= normalized.length(); i++) {
+      boolean tokenChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+      if (tokenChar && start < 0) {
+        start = i;
+      } else if (!tokenChar && start >= 0) {
+        tokens.add(normalized.substring(start, i));
+        start = -1;
+      }
+    }
+    return tokens;
+  }
+
+  private static String normalize(String text) {
+    return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+  }
+
+  private static String host(String link) {
+    if (link == null || link.isBlank()) {
+      return null;
+    }
+    try {
+      return URI.create(link.trim()).getHost();
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package io.kalix.api;
+
+import akka.Done;
+import io.kalix.application.CallForPaperEntity;
+import io.kalix.domain.CallForPaper;
+import io.kalix.view.CallForPaperView;
+import kalix.javasdk.action.Action;
+import kalix.javasdk.annotations.Subscribe;
+
+public class CallForPaperSearchIndexUpdater extends Action {
+
+  private final CallForPaperSearchIndex callForPaperSearchIndex;
+
+  public CallForPaperSearchIndexUpdater(CallForPaperSearchIndex callForPaperSearchIndex) {
+    this.callForPaperSearchIndex = callForPaperSearchIndex;
+  }
+
+  @Subscribe.ValueEntity(CallForPaperEntity.class)
+  public Effect<Done> onChange(CallForPaper callForPaper) {
+    callForPaperSearchIndex.put(CallForPaperView.of(callForPaper));
+    return effects().reply(Done.getInstance());
+  }
+
+  @Subscribe.ValueEntity(value = CallForPaperEntity.class, handleDeletes = true)
+  public Effect<Done> onDelete() {
+    actionContext().metadata().asCloudEvent().subject().ifPresent(callForPaperSearchIndex::remove);
+    return effects().reply(Done.getInstance());
+  }
+}
@@ -0,0 +1,18 @@
+package io.kalix.api;
+
+import io.kalix.view.CallForPaperPage;
+import io.kalix.view.CallForPaperView;
+import io.kalix.view.PageToken;
+
+import java.util.List;
+
+/**
+ * @param nextPageToken pass as {@code pageToken} to get the next page, null on the last page
+ */
+public record CallForPapersPageResponse(List<CallForPaperView> callForPaperViews, String nextPageToken) {
+
+  static CallForPapersPageResponse of(CallForPaperPage page) {
+    PageToken nextPageToken = page.nextPageToken();
+    return new CallForPapersPageResponse(page.callForPaperViews(), nextPageToken == null ? null : nextPageToken.encode());
+  }
+}
@@ -0,0 +1,8 @@
+package io.kalix.api;
+
+/**
+ * @param format  "ndjson" or "csv", csv needs a header row with conferenceName, deadline and conferenceLink columns
+ * @param content rows, NDJSON objects have the same fields as the csv columns, the deadline is an ISO date
+ */
+public record ImportCallForPapers(String format, String content, String userName) {
+}
@@ -0,0 +1,24 @@
+package io.kalix.api;
+
+import java.util.List;
+
+public record ImportReport(int created, int duplicates, int invalid, int failed, List<ImportRowResult> rows) {
+
+  public enum Status {CREATED, DUPLICATE, INVALID, FAILED}
+
+  /**
+   * @param row 1-based row number, not counting the csv header
+   */
+  public record ImportRowResult(int row, Status status, String cfpId, String message) {}
+
+  static ImportReport of(List<ImportRowResult> rows) {
+    int[] counts = new int[Status.values().length];
+    rows.forEach(row -> counts[row.status().ordinal()]++);
+    return new ImportReport(
+      counts[Status.CREATED.ordinal()],
+      counts[Status.DUPLICATE.ordinal()],
+      counts[Status.INVALID.ordinal()],
+      counts[Status.FAILED.ordinal()],
+      rows);
+  }
+}
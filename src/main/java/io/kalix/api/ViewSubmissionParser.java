@@ -1,14 +1,143 @@
 package io.kalix.api;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.slack.api.SlackConfig;
+import com.slack.api.model.view.ViewState;
 import com.slack.api.util.json.GsonFactory;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Streams over the view_submission payload and picks only the fields we need. Everything else, e.g. the blocks of
+ * a delete modal with all its options, is skipped without being materialized. Only {@code view.state} is bound to
+ * the Slack model.
+ */
 public class ViewSubmissionParser {
 
   private static Gson gson = GsonFactory.createSnakeCase(SlackConfig.DEFAULT);
+  private static TypeAdapter<ViewState> viewStateAdapter = gson.getAdapter(ViewState.class);
 
   public static ViewSubmission parse(String payload) {
-    return gson.fromJson(payload, ViewSubmission.class);
+    return parse(payload, token -> true).orElseThrow();
+  }
+
+  /**
+   * @return empty if the token is missing or not valid, parsing stops as soon as an invalid token is found
+   */
+  public static Optional<ViewSubmission> parse(String payload, Predicate<String> validToken) {
+    try (JsonReader reader = new JsonReader(new StringReader(payload))) {
+      String type = null;
+      String token = null;
+      ViewSubmissionUser user = null;
+      View view = null;
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "type" -> type = nextString(reader);
+          case "token" -> {
+            token = nextString(reader);
+            if (!validToken.test(token)) {
+              return Optional.empty();
+            }
+          }
+          case "user" -> user = readUser(reader);
+          case "view" -> view = readView(reader);
+          default -> reader.skipValue();
+        }
+      }
+      reader.endObject();
+      if (token == null && !validToken.test(null)) {
+        return Optional.empty();
+      }
+      return Optional.of(new ViewSubmission(type, token, user, view));
+    } catch (IOException | IllegalStateException e) {
+      throw new JsonSyntaxException("Invalid view submission payload", e);
+    }
+  }
+
+  /**
+   * @return empty if the token is missing or not valid, the view with the current modal state is skipped
+   */
+  public static Optional<BlockSuggestion> parseBlockSuggestion(String payload, Predicate<String> validToken) {
+    try (JsonReader reader = new JsonReader(new StringReader(payload))) {
+      String type = null;
+      String token = null;
+      String actionId = null;
+      String value = null;
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "type" -> type = nextString(reader);
+          case "token" -> {
+            token = nextString(reader);
+            if (!validToken.test(token)) {
+              return Optional.empty();
+            }
+          }
+          case "action_id" -> actionId = nextString(reader);
+          case "value" -> value = nextString(reader);
+          default -> reader.skipValue();
+        }
+      }
+      reader.endObject();
+      if (token == null && !validToken.test(null)) {
+        return Optional.empty();
+      }
+      return Optional.of(new BlockSuggestion(type, token, actionId, value));
+    } catch (IOException | IllegalStateException e) {
+      throw new JsonSyntaxException("Invalid block suggestion payload", e);
+    }
+  }
+
+  private static ViewSubmissionUser readUser(JsonReader reader) throws IOException {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
+      return null;
+    }
+    String username = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      if (reader.nextName().equals("username")) {
+        username = nextString(reader);
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+    return new ViewSubmissionUser(username);
+  }
+
+  private static View readView(JsonReader reader) throws IOException {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
+      return null;
+    }
+    String callbackId = null;
+    ViewState state = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "callback_id" -> callbackId = nextString(reader);
+        case "state" -> state = viewStateAdapter.read(reader);
+        default -> reader.skipValue();
+      }
+    }
+    reader.endObject();
+    return new View(callbackId, state);
+  }
+
+  private static String nextString(JsonReader reader) throws IOException {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
+      return null;
+    }
+    return reader.nextString();
   }
 }
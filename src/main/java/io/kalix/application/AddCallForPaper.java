@@ -0,0 +1,9 @@
+package io.kalix.application;
+
+import java.time.Instant;
+
+/**
+ * A cfp submitted from Slack in the fast-ack mode, created later by the {@link CallForPaperCreator}.
+ */
+public record AddCallForPaper(String cfpId, CreateCallForPaper createCallForPaper, Instant submittedAt) {
+}
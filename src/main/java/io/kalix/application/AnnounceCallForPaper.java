@@ -0,0 +1,151 @@
+package io.kalix.application;
+
+import akka.Done;
+import io.kalix.domain.CallForPaper;
+import io.kalix.view.CallForPaperView;
+import kalix.javasdk.action.Action;
+import kalix.javasdk.client.ComponentClient;
+import kalix.javasdk.timer.TimerScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Posts a new cfp announcement from a timer, to a single channel when the channel didn't accept the announcement while
+ * other channels did, or to all channels when the announcement wasn't posted at all. A failed post fails the call, so
+ * the timer retries it.
+ */
+@RequestMapping("/announce-cfp")
+public class AnnounceCallForPaper extends Action {
+
+  private static final Logger logger = LoggerFactory.getLogger(AnnounceCallForPaper.class);
+
+  private final SlackClient slackClient;
+  private final ComponentClient componentClient;
+  private final ApplicationMetrics metrics;
+
+  public AnnounceCallForPaper(SlackClient slackClient, ComponentClient componentClient, ApplicationMetrics metrics) {
+    this.slackClient = slackClient;
+    this.componentClient = componentClient;
+    this.metrics = metrics;
+  }
+
+  @PostMapping("/{cfpId}/{channel}")
+  public Effect<Done> announce(@PathVariable String cfpId, @PathVariable String channel) {
+    SlackClient slackClient = TracingSlackClient.of(this.slackClient, actionContext()).toChannel(channel);
+    CompletionStage<Done> announced = componentClient.forValueEntity(cfpId)
+      .call(CallForPaperEntity::get).execute()
+      .handle((callForPaper, throwable) -> callForPaper)
+      .thenCompose(callForPaper -> {
+        if (callForPaper == null) {
+          logger.info("Cfp {} deleted, not announcing it in channel {}", cfpId, channel);
+          return CompletableFuture.completedStage(Done.getInstance());
+        }
+        return slackClient.postNewCfp(CallForPaperView.of(callForPaper))
+          .thenCompose(response -> SlackResponses.handle("new cfp " + cfpId + " in channel " + channel, response, metrics));
+      });
+    return effects().asyncReply(announced);
+  }
+
+  /**
+   * Announces a cfp that isn't announced yet, the timer is started with a delay, so an announcement in progress is
+   * usually marked announced by the time it runs.
+   */
+  @PostMapping("/{cfpId}")
+  public Effect<Done> announceAll(@PathVariable String cfpId) {
+    SlackClient slackClient = TracingSlackClient.of(this.slackClient, actionContext());
+    TimerScheduler timers = timers();
+    CompletionStage<Done> announced = componentClient.forValueEntity(cfpId)
+      .call(CallForPaperEntity::get).execute()
+      .handle((callForPaper, throwable) -> callForPaper)
+      .thenCompose(callForPaper -> {
+        if (callForPaper == null) {
+          logger.info("Cfp {} deleted, not announcing it", cfpId);
+          return CompletableFuture.completedStage(Done.getInstance());
+        } else if (callForPaper.announced()) {
+          logger.debug("Cfp {} already announced", cfpId);
+          return CompletableFuture.completedStage(Done.getInstance());
+        }
+        return postNewCfp(slackClient, timers, componentClient, callForPaper, metrics)
+          .thenCompose(response -> UndeliveredChannelsException.isCause(response)
+            ? CompletableFuture.completedStage(Done.getInstance())
+            : SlackResponses.handle("new cfp " + cfpId, response, metrics));
+      });
+    return effects().asyncReply(announced);
+  }
+
+  /**
+   * Starts the announce timer of the cfp, starting it again only postpones it, there is a single timer per cfp.
+   */
+  public static CompletionStage<Done> scheduleAnnouncement(TimerScheduler timers, ComponentClient componentClient, String cfpId, Duration delay) {
+    logger.info("Announcing cfp {} in {}", cfpId, delay);
+    return timers.startSingleTimer(
+      timerName(cfpId),
+      delay,
+      componentClient.forAction().call(AnnounceCallForPaper::announceAll).params(cfpId));
+  }
+
+  /**
+   * @return the announcement wasn't posted to any channel, and posting it again could succeed
+   */
+  public static boolean isRetryable(SlackResponse response) {
+    return switch (response) {
+      case SlackResponse.Response res -> res.code() != 200 && !SlackResponses.isPermanentFailure(res.code());
+      case SlackResponse.Failure failure -> !UndeliveredChannelsException.isCause(failure);
+    };
+  }
+
+  /**
+   * Posts the announcement to the subscribed channels. The channels that didn't accept it while others did get a
+   * timer retrying it, the returned response is still the failure, for the caller to log. Once posted, or retried by
+   * the timers, the cfp is marked as announced.
+   */
+  public static CompletionStage<SlackResponse> postNewCfp(SlackClient slackClient, TimerScheduler timers, ComponentClient componentClient,
+                                                          CallForPaper callForPaper, ApplicationMetrics metrics) {
+    return slackClient.postNewCfp(CallForPaperView.of(callForPaper))
+      .thenCompose(response -> {
+        if (response instanceof SlackResponse.Response res && res.code() == 200) {
+          return markAnnounced(componentClient, callForPaper.id()).thenApply(__ -> response);
+        } else if (UndeliveredChannelsException.isCause(response)) {
+          return retryUndelivered(timers, componentClient, callForPaper.id(), (UndeliveredChannelsException) ((SlackResponse.Failure) response).exception(), metrics)
+            .thenCompose(__ -> markAnnounced(componentClient, callForPaper.id()))
+            .thenApply(__ -> response);
+        } else {
+          return CompletableFuture.completedStage(response);
+        }
+      });
+  }
+
+  private static CompletionStage<CallForPaper> markAnnounced(ComponentClient componentClient, String cfpId) {
+    return componentClient.forValueEntity(cfpId).call(CallForPaperEntity::markAnnounced).execute();
+  }
+
+  private static CompletionStage<Done> retryUndelivered(TimerScheduler timers, ComponentClient componentClient, String cfpId,
+                                                        UndeliveredChannelsException undelivered, ApplicationMetrics metrics) {
+    List<CompletableFuture<Done>> retries = SlackResponses.retryableChannels("new cfp " + cfpId, undelivered, metrics).stream()
+      .map(channel -> {
+        logger.warn("Channel {} didn't accept new cfp {}, retrying", channel, cfpId);
+        return timers.startSingleTimer(
+          timerName(cfpId, channel),
+          undelivered.retryAfter(channel, Duration.ZERO),
+          componentClient.forAction().call(AnnounceCallForPaper::announce).params(cfpId, channel)).toCompletableFuture();
+      })
+      .toList();
+    return CompletableFuture.allOf(retries.toArray(new CompletableFuture<?>[0])).thenApply(__ -> Done.getInstance());
+  }
+
+  static String timerName(String cfpId) {
+    return "announceCfp-" + cfpId;
+  }
+
+  static String timerName(String cfpId, String channel) {
+    return "announceCfp-" + cfpId + "-" + channel;
+  }
+}
@@ -0,0 +1,114 @@
+package io.kalix.application;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Instruments shared by the components. Actions and entities are created per request, so the instruments are built
+ * once here and injected.
+ */
+@Component
+public class ApplicationMetrics {
+
+  static final AttributeKey<String> QUERY = AttributeKey.stringKey("query");
+  static final AttributeKey<String> ENTITY = AttributeKey.stringKey("entity");
+  static final AttributeKey<String> COMMAND = AttributeKey.stringKey("command");
+  static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+  static final AttributeKey<String> SCHEDULER = AttributeKey.stringKey("scheduler");
+  static final AttributeKey<String> STAGE = AttributeKey.stringKey("stage");
+  static final AttributeKey<Long> CODE = AttributeKey.longKey("code");
+
+  private final DoubleHistogram viewQueryDuration;
+  private final DoubleHistogram entityCommandDuration;
+  private final LongCounter timersScheduled;
+  private final LongCounter timersCancelled;
+  private final LongCounter timersFired;
+  private final LongCounter reschedules;
+  private final LongCounter cfpsArchived;
+  private final DoubleHistogram addCallForPaperStageDuration;
+  private final LongCounter slackMessagesDropped;
+
+  public ApplicationMetrics(Meter meter) {
+    this.viewQueryDuration = meter.histogramBuilder("view.query.duration")
+      .setDescription("View query latency, as seen by the caller")
+      .setUnit("ms")
+      .build();
+    this.entityCommandDuration = meter.histogramBuilder("entity.command.duration")
+      .setDescription("Entity command latency, as seen by the caller")
+      .setUnit("ms")
+      .build();
+    this.timersScheduled = meter.counterBuilder("notification.timers.scheduled")
+      .setDescription("Started notification timers")
+      .build();
+    this.timersCancelled = meter.counterBuilder("notification.timers.cancelled")
+      .setDescription("Cancelled notification timers")
+      .build();
+    this.timersFired = meter.counterBuilder("notification.timers.fired")
+      .setDescription("Notification timers that called Notify")
+      .build();
+    this.reschedules = meter.counterBuilder("notification.reschedules")
+      .setDescription("Debounced reschedules that moved the timers of a cfp to its new deadline")
+      .build();
+    this.cfpsArchived = meter.counterBuilder("retention.cfps.archived")
+      .setDescription("Expired cfps moved to the archive")
+      .build();
+    this.addCallForPaperStageDuration = meter.histogramBuilder("cfp.add.stage.duration")
+      .setDescription("Fast-ack cfp latency per stage, ack and create since the submission, announce since the creation")
+      .setUnit("ms")
+      .build();
+    this.slackMessagesDropped = meter.counterBuilder("slack.messages.dropped")
+      .setDescription("Slack messages rejected with a client error, they are not retried")
+      .build();
+  }
+
+  public <T> CompletionStage<T> timeViewQuery(String query, Supplier<CompletionStage<T>> call) {
+    return time(viewQueryDuration, Attributes.of(QUERY, query), call);
+  }
+
+  public <T> CompletionStage<T> timeEntityCommand(String entity, String command, Supplier<CompletionStage<T>> call) {
+    return time(entityCommandDuration, Attributes.of(ENTITY, entity, COMMAND, command), call);
+  }
+
+  public void timersScheduled(String scheduler, int count) {
+    timersScheduled.add(count, Attributes.of(SCHEDULER, scheduler));
+  }
+
+  public void timersCancelled(int count) {
+    timersCancelled.add(count);
+  }
+
+  public void timerFired() {
+    timersFired.add(1);
+  }
+
+  public void rescheduled() {
+    reschedules.add(1);
+  }
+
+  public void cfpArchived() {
+    cfpsArchived.add(1);
+  }
+
+  public void addCallForPaperStage(String stage, Duration sinceSubmission) {
+    addCallForPaperStageDuration.record(sinceSubmission.toNanos() / 1_000_000d, Attributes.of(STAGE, stage));
+  }
+
+  public void slackMessageDropped(int code) {
+    slackMessagesDropped.add(1, Attributes.of(CODE, (long) code));
+  }
+
+  private static <T> CompletionStage<T> time(DoubleHistogram histogram, Attributes attributes, Supplier<CompletionStage<T>> call) {
+    long start = System.nanoTime();
+    return call.get().whenComplete((__, throwable) ->
+      histogram.record((System.nanoTime() - start) / 1_000_000d,
+        attributes.toBuilder().put(OUTCOME, throwable == null ? "success" : "failure").build()));
+  }
+}
@@ -0,0 +1,41 @@
+package io.kalix.application;
+
+import io.kalix.domain.ArchivedCallForPaper;
+import kalix.javasdk.annotations.Id;
+import kalix.javasdk.annotations.TypeId;
+import kalix.javasdk.valueentity.ValueEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import static kalix.javasdk.StatusCode.ErrorCode.NOT_FOUND;
+
+@TypeId("archived-call-for-paper")
+@Id("id")
+@RequestMapping("/archived-cfp/{id}")
+public class ArchivedCallForPaperEntity extends ValueEntity<ArchivedCallForPaper> {
+
+  /**
+   * Idempotent, the sweep archives again a cfp it failed to delete last time.
+   */
+  @PostMapping
+  public Effect<ArchivedCallForPaper> archive(@RequestBody ArchivedCallForPaper archivedCallForPaper) {
+    if (currentState() != null) {
+      return effects().reply(currentState());
+    } else {
+      return effects()
+        .updateState(archivedCallForPaper)
+        .thenReply(archivedCallForPaper);
+    }
+  }
+
+  @GetMapping
+  public Effect<ArchivedCallForPaper> get() {
+    if (currentState() == null) {
+      return effects().error("Archived cfp not found " + commandContext().entityId(), NOT_FOUND);
+    } else {
+      return effects().reply(currentState());
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package io.kalix.application;
+
+import io.kalix.domain.CallForPaper;
+import kalix.javasdk.client.ComponentClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+public final class CallForPaperCreation {
+
+  /**
+   * @param created false when the entity already held the same cfp, e.g. created by a retried request
+   */
+  public record Result(CallForPaper callForPaper, boolean created) {
+  }
+
+  private CallForPaperCreation() {
+  }
+
+  /**
+   * @return the created cfp, or the existing one when the entity already holds the same cfp. Fails with
+   * {@link CallForPaperExistsException} when the entity holds a different cfp.
+   */
+  public static CompletionStage<Result> createOrFindSame(ComponentClient componentClient, String cfpId, CreateCallForPaper createCallForPaper) {
+    return componentClient.forValueEntity(cfpId)
+      .call(CallForPaperEntity::create)
+      .params(createCallForPaper)
+      .execute()
+      .thenApply(created -> new Result(created, true))
+      .exceptionallyCompose(createFailure -> componentClient.forValueEntity(cfpId)
+        .call(CallForPaperEntity::get)
+        .execute()
+        .handle((existing, getFailure) -> existing)
+        .thenCompose(existing -> {
+          if (existing == null) {
+            return CompletableFuture.failedStage(createFailure);
+          } else if (CallForPaperIds.sameCallForPaper(existing, createCallForPaper)) {
+            return CompletableFuture.completedStage(new Result(existing, false));
+          } else {
+            return CompletableFuture.failedStage(new CallForPaperExistsException(cfpId));
+          }
+        }));
+  }
+}
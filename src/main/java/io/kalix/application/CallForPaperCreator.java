@@ -0,0 +1,63 @@
+package io.kalix.application;
+
+import akka.Done;
+import kalix.javasdk.action.Action;
+import kalix.javasdk.client.ComponentClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Creates cfps submitted in the fast-ack mode ({@code cfp.notifier.fast-ack}). Called by a timer started in the Slack
+ * submission handler, so a failed creation is retried. A retry finds the already created cfp and completes.
+ * The new cfp is announced by the {@link NewCallForPaperAnnouncer}.
+ */
+@RequestMapping("/cfp-creator")
+public class CallForPaperCreator extends Action {
+
+  private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final ComponentClient componentClient;
+  private final Clock clock;
+  private final ApplicationMetrics metrics;
+
+  public CallForPaperCreator(ComponentClient componentClient, Clock clock, ApplicationMetrics metrics) {
+    this.componentClient = componentClient;
+    this.clock = clock;
+    this.metrics = metrics;
+  }
+
+  @PostMapping
+  public Effect<Done> create(@RequestBody AddCallForPaper addCallForPaper) {
+    CompletionStage<Done> created = CallForPaperCreation.createOrFindSame(componentClient, addCallForPaper.cfpId(), addCallForPaper.createCallForPaper())
+      .thenApply(result -> {
+        if (result.created()) {
+          metrics.addCallForPaperStage("create", Duration.between(addCallForPaper.submittedAt(), clock.instant()));
+          logger.info("Created cfp: {}", result.callForPaper());
+        } else {
+          logger.info("Cfp {} already created", addCallForPaper.cfpId());
+        }
+        return Done.getInstance();
+      })
+      .exceptionallyCompose(failure -> {
+        if (CallForPaperExistsException.isCause(failure)) {
+          logger.warn("Not creating cfp {}, a different cfp with the same id exists: {}", addCallForPaper.cfpId(), addCallForPaper.createCallForPaper());
+          return CompletableFuture.completedStage(Done.getInstance());
+        } else {
+          return CompletableFuture.failedStage(failure);
+        }
+      });
+    return effects().asyncReply(created);
+  }
+
+  public static String timerName(String cfpId) {
+    return "createCfp-" + cfpId;
+  }
+}
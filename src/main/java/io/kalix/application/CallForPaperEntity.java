@@ -9,13 +9,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
 
 import static kalix.javasdk.StatusCode.ErrorCode.BAD_REQUEST;
 import static kalix.javasdk.StatusCode.ErrorCode.NOT_FOUND;
@@ -36,8 +37,10 @@ public class CallForPaperEntity extends ValueEntity<CallForPaper> {
   public Effect<CallForPaper> create(@RequestBody CreateCallForPaper createCallForPaper) {
     if (currentState() != null) {
       return effects().error("Cfp already exists " + commandContext().entityId(), BAD_REQUEST);
-    } else if (!isValid(createCallForPaper)) {
-      logger.info("Invalid Cfp: {}", createCallForPaper);
+    }
+    Optional<String> invalid = CallForPaperValidator.validate(createCallForPaper, LocalDate.ofInstant(clock.instant(), clock.getZone()));
+    if (invalid.isPresent()) {
+      logger.info("Invalid Cfp: {}, {}", createCallForPaper, invalid.get());
       return effects().error("Invalid Cfp " + commandContext().entityId(), BAD_REQUEST);
     } else {
       var callForPaper = new CallForPaper(
@@ -46,7 +49,8 @@ public class CallForPaperEntity extends ValueEntity<CallForPaper> {
         createCallForPaper.deadline(),
         createCallForPaper.conferenceLink(),
         createCallForPaper.userName(),
-        Instant.now(clock)
+        Instant.now(clock),
+        createCallForPaper.silent()
       );
 
       logger.info("Creating new Cfp: {}", callForPaper);
@@ -56,23 +60,42 @@ public class CallForPaperEntity extends ValueEntity<CallForPaper> {
     }
   }
 
-  private boolean isValid(CreateCallForPaper createCallForPaper) {
-    LocalDate today = LocalDate.ofInstant(clock.instant(), clock.getZone());
-    if (createCallForPaper.conferenceName() == null || createCallForPaper.conferenceName().isEmpty()) {
-      return false;
+  /**
+   * Edits a cfp in place, timers are rescheduled only when the deadline changed. An edit that changes nothing is not
+   * persisted.
+   */
+  @PutMapping
+  public Effect<CallForPaper> update(@RequestBody UpdateCallForPaper updateCallForPaper) {
+    if (currentState() == null) {
+      return effects().error("Cfp not found " + commandContext().entityId(), NOT_FOUND);
     }
-    if (createCallForPaper.deadline() == null) {
-      return false;
-    } else if (
-      createCallForPaper.deadline().isAfter(today.plusDays(TimeUnit.SECONDS.toDays(21474835)))) {
-      //see akka.actor.LightArrayRevolverScheduler#checkMaxDelay
-      logger.info("Deadline too far in the future: {}", createCallForPaper.deadline());
-      return false;
+    Optional<String> invalid = CallForPaperValidator.validate(updateCallForPaper, LocalDate.ofInstant(clock.instant(), clock.getZone()));
+    if (invalid.isPresent()) {
+      logger.info("Invalid Cfp update: {}, {}", updateCallForPaper, invalid.get());
+      return effects().error("Invalid Cfp " + commandContext().entityId() + ": " + invalid.get(), BAD_REQUEST);
+    } else if (currentState().sameContent(updateCallForPaper.conferenceName(), updateCallForPaper.deadline(), updateCallForPaper.conferenceLink())) {
+      return effects().reply(currentState());
+    } else {
+      var updated = currentState().update(updateCallForPaper.conferenceName(), updateCallForPaper.deadline(), updateCallForPaper.conferenceLink(), Instant.now(clock));
+      logger.info("Updating Cfp by {}: {}", updateCallForPaper.userName(), updated);
+      return effects()
+        .updateState(updated)
+        .thenReply(updated);
     }
-    if (createCallForPaper.conferenceLink() == null || createCallForPaper.conferenceLink().isEmpty()) {
-      return false;
+  }
+
+  @PostMapping("/announced")
+  public Effect<CallForPaper> markAnnounced() {
+    if (currentState() == null) {
+      return effects().error("Cfp not found " + commandContext().entityId(), NOT_FOUND);
+    } else if (currentState().announced()) {
+      return effects().reply(currentState());
+    } else {
+      var announced = currentState().markAnnounced();
+      return effects()
+        .updateState(announced)
+        .thenReply(announced);
     }
-    return true;
   }
 
   @GetMapping
@@ -0,0 +1,18 @@
+package io.kalix.application;
+
+/**
+ * The cfp id is taken by a different cfp, e.g. a repeated submission of a cfp edited in the meantime.
+ */
+public class CallForPaperExistsException extends RuntimeException {
+
+  public CallForPaperExistsException(String cfpId) {
+    super("Cfp already exists " + cfpId);
+  }
+
+  /**
+   * @param throwable the failure of a stage, possibly wrapped in a {@link java.util.concurrent.CompletionException}
+   */
+  public static boolean isCause(Throwable throwable) {
+    return throwable instanceof CallForPaperExistsException || throwable.getCause() instanceof CallForPaperExistsException;
+  }
+}
@@ -0,0 +1,43 @@
+package io.kalix.application;
+
+import io.kalix.domain.CallForPaper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Deterministic cfp ids ({@code cfp.notifier.deterministic-ids}), a name based UUID of the normalized conference name,
+ * link and deadline. A retried submission of the same cfp ends up on the same entity.
+ */
+public final class CallForPaperIds {
+
+  private CallForPaperIds() {
+  }
+
+  public static String of(CreateCallForPaper createCallForPaper) {
+    String key = normalizeName(createCallForPaper.conferenceName()) + "|" + normalizeLink(createCallForPaper.conferenceLink()) + "|" + createCallForPaper.deadline();
+    return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+  }
+
+  /**
+   * The existing cfp was created from the same data, ignoring the differences removed by the normalization.
+   */
+  public static boolean sameCallForPaper(CallForPaper existing, CreateCallForPaper createCallForPaper) {
+    return normalizeName(existing.conferenceName()).equals(normalizeName(createCallForPaper.conferenceName()))
+      && normalizeLink(existing.conferenceLink()).equals(normalizeLink(createCallForPaper.conferenceLink()))
+      && existing.deadline().equals(createCallForPaper.deadline());
+  }
+
+  private static String normalizeName(String conferenceName) {
+    return conferenceName == null ? "" : conferenceName.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+
+  private static String normalizeLink(String conferenceLink) {
+    if (conferenceLink == null) {
+      return "";
+    }
+    String link = conferenceLink.trim().toLowerCase(Locale.ROOT);
+    return link.endsWith("/") ? link.substring(0, link.length() - 1) : link;
+  }
+}
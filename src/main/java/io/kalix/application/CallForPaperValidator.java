@@ -0,0 +1,43 @@
+package io.kalix.application;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rules for a new or edited cfp, shared by the entity and the bulk import, which validates rows before calling the entity.
+ */
+public final class CallForPaperValidator {
+
+  //see akka.actor.LightArrayRevolverScheduler#checkMaxDelay
+  private static final long MAX_DAYS_AHEAD = TimeUnit.SECONDS.toDays(21474835);
+
+  private CallForPaperValidator() {
+  }
+
+  /**
+   * @return the reason why the cfp is not valid, empty if it's valid
+   */
+  public static Optional<String> validate(CreateCallForPaper createCallForPaper, LocalDate today) {
+    return validate(createCallForPaper.conferenceName(), createCallForPaper.deadline(), createCallForPaper.conferenceLink(), today);
+  }
+
+  public static Optional<String> validate(UpdateCallForPaper updateCallForPaper, LocalDate today) {
+    return validate(updateCallForPaper.conferenceName(), updateCallForPaper.deadline(), updateCallForPaper.conferenceLink(), today);
+  }
+
+  private static Optional<String> validate(String conferenceName, LocalDate deadline, String conferenceLink, LocalDate today) {
+    if (conferenceName == null || conferenceName.isEmpty()) {
+      return Optional.of("Missing conference name");
+    }
+    if (deadline == null) {
+      return Optional.of("Missing deadline");
+    } else if (deadline.isAfter(today.plusDays(MAX_DAYS_AHEAD))) {
+      return Optional.of("Deadline too far in the future: " + deadline);
+    }
+    if (conferenceLink == null || conferenceLink.isEmpty()) {
+      return Optional.of("Missing conference link");
+    }
+    return Optional.empty();
+  }
+}
@@ -2,5 +2,12 @@ package io.kalix.application;
 
 import java.time.LocalDate;
 
-public record CreateCallForPaper(String conferenceName, LocalDate deadline, String conferenceLink, String userName) {
+/**
+ * @param silent don't announce the new cfp on Slack, e.g. for bulk imports
+ */
+public record CreateCallForPaper(String conferenceName, LocalDate deadline, String conferenceLink, String userName, boolean silent) {
+
+  public CreateCallForPaper(String conferenceName, LocalDate deadline, String conferenceLink, String userName) {
+    this(conferenceName, deadline, conferenceLink, userName, false);
+  }
 }
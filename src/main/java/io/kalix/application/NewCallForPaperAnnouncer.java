@@ -0,0 +1,80 @@
+package io.kalix.application;
+
+import akka.Done;
+import com.typesafe.config.Config;
+import io.kalix.domain.CallForPaper;
+import kalix.javasdk.action.Action;
+import kalix.javasdk.annotations.Subscribe;
+import kalix.javasdk.client.ComponentClient;
+import kalix.javasdk.timer.TimerScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Announces new cfps on Slack in the fast-ack mode ({@code cfp.notifier.fast-ack}), from the entity change stream.
+ * <p>
+ * The stream is replayed from the beginning when the subscription is deployed for the first time, and delivered
+ * at least once, so only cfps created within {@code fast-ack.announce-window} are announced. Silent cfps (bulk
+ * imports), edits and already announced cfps are never announced.
+ * <p>
+ * A failed announcement is handed over to the announce timer of the cfp ({@link AnnounceCallForPaper#announceAll}),
+ * failing the call would hold back the changes of all other cfps until it's posted. Announcements rejected with a
+ * client error other than 429 are dropped.
+ */
+@Subscribe.ValueEntity(CallForPaperEntity.class)
+public class NewCallForPaperAnnouncer extends Action {
+
+  private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final SlackClient slackClient;
+  private final ComponentClient componentClient;
+  private final Config config;
+  private final Clock clock;
+  private final ApplicationMetrics metrics;
+
+  public NewCallForPaperAnnouncer(SlackClient slackClient, ComponentClient componentClient, Config config, Clock clock, ApplicationMetrics metrics) {
+    this.slackClient = slackClient;
+    this.componentClient = componentClient;
+    this.config = config;
+    this.clock = clock;
+    this.metrics = metrics;
+  }
+
+  public Effect<Done> onChange(CallForPaper callForPaper) {
+    if (!config.getBoolean("cfp.notifier.fast-ack.enabled") || callForPaper.silent() || callForPaper.updatedAt() != null
+      || callForPaper.announced()) {
+      return effects().reply(Done.getInstance());
+    }
+    Instant now = clock.instant();
+    if (Duration.between(callForPaper.createdAt(), now).compareTo(config.getDuration("cfp.notifier.fast-ack.announce-window")) > 0) {
+      logger.debug("Not announcing cfp {} created at {}", callForPaper.id(), callForPaper.createdAt());
+      return effects().reply(Done.getInstance());
+    }
+
+    TimerScheduler timers = timers();
+    CompletionStage<Done> announced = AnnounceCallForPaper.postNewCfp(TracingSlackClient.of(slackClient, actionContext()), timers, componentClient, callForPaper, metrics)
+      .thenCompose(response -> switch (response) {
+        case SlackResponse.Response res when res.code() == 200 -> {
+          metrics.addCallForPaperStage("announce", Duration.between(callForPaper.createdAt(), clock.instant()));
+          logger.info("Announced cfp: {}", callForPaper);
+          yield CompletableFuture.completedStage(Done.getInstance());
+        }
+        case SlackResponse.Failure failure when UndeliveredChannelsException.isCause(failure) -> {
+          logger.warn("Announced cfp {}, retrying in other channels: {}", callForPaper, failure.message());
+          yield CompletableFuture.completedStage(Done.getInstance());
+        }
+        case SlackResponse failure when AnnounceCallForPaper.isRetryable(failure) -> {
+          logger.warn("Failed to announce cfp {}, retrying: {}", callForPaper, failure);
+          yield AnnounceCallForPaper.scheduleAnnouncement(timers, componentClient, callForPaper.id(), config.getDuration("cfp.notifier.announce-retry-delay"));
+        }
+        default -> SlackResponses.handle("new cfp " + callForPaper.id(), response, metrics);
+      });
+    return effects().asyncReply(announced);
+  }
+}
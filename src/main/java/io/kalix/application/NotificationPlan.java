@@ -0,0 +1,138 @@
+package io.kalix.application;
+
+import com.typesafe.config.Config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.kalix.application.DurationCalculator.calculateDuration;
+
+/**
+ * Notification intervals (days before the deadline) parsed and validated once, from
+ * {@code cfp.notifier.notification-intervals}. Notifications are sent at 1 AM in the clock zone, for fixed offset zones
+ * (e.g. UTC) the offset is precomputed, so no zone rules are involved when scheduling.
+ */
+public final class NotificationPlan {
+
+  private static final int[] DEFAULT_INTERVALS = {1, 7};
+  private static final long SECONDS_PER_DAY = 86400;
+  private static final long NOTIFICATION_HOUR_OFFSET_SECONDS = 3600;
+
+  private final int[] intervals;
+  private final Clock clock;
+  private final ZoneOffset fixedOffset;
+
+  private NotificationPlan(int[] intervals, Clock clock) {
+    this.intervals = intervals;
+    this.clock = clock;
+    this.fixedOffset = clock.getZone().getRules().isFixedOffset() ? clock.getZone().getRules().getOffset(Instant.EPOCH) : null;
+  }
+
+  public static NotificationPlan from(Config config, Clock clock) {
+    return of(config.getString("cfp.notifier.notification-intervals"), clock);
+  }
+
+  public static NotificationPlan of(String intervals, Clock clock) {
+    if (intervals == null || intervals.isBlank()) {
+      return new NotificationPlan(DEFAULT_INTERVALS, clock);
+    }
+    int[] parsed = Arrays.stream(intervals.split(","))
+      .map(String::trim)
+      .mapToInt(interval -> {
+        try {
+          return Integer.parseInt(interval);
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException("Invalid notification interval: '" + interval + "' in: " + intervals, e);
+        }
+      })
+      .sorted()
+      .toArray();
+    for (int i = 0; i < parsed.length; i++) {
+      if (parsed[i] < 0) {
+        throw new IllegalArgumentException("Negative notification interval: " + parsed[i] + " in: " + intervals);
+      }
+      if (i > 0 && parsed[i] == parsed[i - 1]) {
+        throw new IllegalArgumentException("Duplicated notification interval: " + parsed[i] + " in: " + intervals);
+      }
+    }
+    return new NotificationPlan(parsed, clock);
+  }
+
+  /**
+   * @return sorted intervals, a copy
+   */
+  public int[] intervals() {
+    return intervals.clone();
+  }
+
+  public int size() {
+    return intervals.length;
+  }
+
+  public int interval(int index) {
+    return intervals[index];
+  }
+
+  /**
+   * The notification for the interval is still ahead, it's after today.
+   */
+  public boolean isApplicable(int howManyDaysBefore, LocalDate deadline, LocalDate today) {
+    return deadline.toEpochDay() - howManyDaysBefore > today.toEpochDay();
+  }
+
+  /**
+   * With the daily tick, the reminders of a cfp created after today's tick are due today and the tick won't see them.
+   *
+   * @return intervals with the notification today, if today's tick is past its due time
+   */
+  public List<Integer> intervalsMissedByTick(Instant now, LocalDate deadline) {
+    LocalDate today = LocalDate.ofInstant(now, clock.getZone());
+    List<Integer> missed = new ArrayList<>();
+    if (now.isBefore(tickAt(today))) {
+      return missed;
+    }
+    for (int howManyDaysBefore : intervals) {
+      if (deadline.toEpochDay() - howManyDaysBefore == today.toEpochDay()) {
+        missed.add(howManyDaysBefore);
+      }
+    }
+    return missed;
+  }
+
+  /**
+   * The tick of the day runs at the notification hour, a tick retried past the due time of the next one is due now.
+   */
+  public Duration durationUntilTick(Instant now, LocalDate day) {
+    Instant tickAt = tickAt(day);
+    return now.isBefore(tickAt) ? Duration.between(now, tickAt) : Duration.ZERO;
+  }
+
+  private Instant tickAt(LocalDate day) {
+    return day.atStartOfDay(clock.getZone()).plusSeconds(NOTIFICATION_HOUR_OFFSET_SECONDS).toInstant();
+  }
+
+  public Duration durationUntilNotification(Instant now, int howManyDaysBefore, LocalDate deadline) {
+    if (fixedOffset == null) {
+      return calculateDuration(now, howManyDaysBefore, deadline, clock);
+    }
+    long notificationAt = (deadline.toEpochDay() - howManyDaysBefore) * SECONDS_PER_DAY - fixedOffset.getTotalSeconds() + NOTIFICATION_HOUR_OFFSET_SECONDS;
+    long seconds = notificationAt - now.truncatedTo(ChronoUnit.HOURS).getEpochSecond();
+    if (seconds > 0) {
+      return Duration.ofSeconds(seconds);
+    } else {
+      throw new IllegalArgumentException("Notification date is in the past, for howManyDaysBefore: " + howManyDaysBefore + " and deadline: " + deadline + " and today: " + now + " and notificationAt: " + Instant.ofEpochSecond(notificationAt));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "NotificationPlan" + Arrays.toString(intervals);
+  }
+}
@@ -0,0 +1,119 @@
+package io.kalix.application;
+
+import akka.Done;
+import com.typesafe.config.Config;
+import io.kalix.domain.CallForPaper;
+import io.kalix.domain.CallForPaperReminder;
+import kalix.javasdk.client.ComponentClient;
+import kalix.javasdk.timer.TimerScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Starts the notification timers of a cfp, shared by {@link ScheduleNotification} and the debounced
+ * {@link RescheduleNotifications}.
+ */
+final class NotificationScheduler {
+
+  private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final Config config;
+  private final Clock clock;
+  private final ComponentClient componentClient;
+  private final NotificationPlan notificationPlan;
+  private final ApplicationMetrics metrics;
+
+  NotificationScheduler(Config config, Clock clock, ComponentClient componentClient, NotificationPlan notificationPlan, ApplicationMetrics metrics) {
+    this.config = config;
+    this.clock = clock;
+    this.componentClient = componentClient;
+    this.notificationPlan = notificationPlan;
+    this.metrics = metrics;
+  }
+
+  CompletionStage<Done> scheduleNotifications(TimerScheduler timers, CallForPaper callForPaper) {
+    if (dailyTick()) {
+      return scheduleMissedByTick(timers, callForPaper)
+        .thenCompose(__ -> NotificationTick.scheduleNextTick(timers, componentClient, notificationPlan, clock));
+    }
+    Instant now = clock.instant();
+    List<Integer> intervals = applicableIntervals(callForPaper.deadline());
+    List<CompletableFuture<Done>> timersSchedules = new ArrayList<>(intervals.size());
+    for (int howManyDaysBefore : intervals) {
+      logger.info("Scheduling notification for cfp: {} {} days before {}", callForPaper, howManyDaysBefore, callForPaper.deadline());
+      timersSchedules.add(timers.startSingleTimer(
+        timerName(howManyDaysBefore, callForPaper.id()),
+        notificationPlan.durationUntilNotification(now, howManyDaysBefore, callForPaper.deadline()),
+        componentClient.forAction().call(Notify::runNotification).params(CallForPaperReminder.of(callForPaper, howManyDaysBefore))).toCompletableFuture());
+    }
+    metrics.timersScheduled("timers", timersSchedules.size());
+
+    return CompletableFuture.allOf(timersSchedules.toArray(new CompletableFuture<?>[0]))
+      .thenCompose(__ -> registerScheduled(callForPaper.id(), intervals, callForPaper.deadline()));
+  }
+
+  /**
+   * Reminders due today for a cfp created after today's tick are started right away, with the same timer names the
+   * tick uses. They are registered, so the announcement of the cfp doesn't start them again.
+   */
+  private CompletionStage<Done> scheduleMissedByTick(TimerScheduler timers, CallForPaper callForPaper) {
+    List<Integer> missed = notificationPlan.intervalsMissedByTick(clock.instant(), callForPaper.deadline());
+    if (missed.isEmpty()) {
+      return CompletableFuture.completedStage(Done.getInstance());
+    }
+    List<CompletableFuture<Done>> timersSchedules = missed.stream().map(howManyDaysBefore -> {
+      logger.info("Cfp: {} created after today's tick, notifying {} days before {}", callForPaper.id(), howManyDaysBefore, callForPaper.deadline());
+      return timers.startSingleTimer(
+        timerName(howManyDaysBefore, callForPaper.id()),
+        Duration.ZERO,
+        componentClient.forAction().call(Notify::runNotification).params(CallForPaperReminder.of(callForPaper, howManyDaysBefore))).toCompletableFuture();
+    }).toList();
+    metrics.timersScheduled("daily-tick", timersSchedules.size());
+    return CompletableFuture.allOf(timersSchedules.toArray(new CompletableFuture<?>[0]))
+      .thenCompose(__ -> registerScheduled(callForPaper.id(), missed, callForPaper.deadline()));
+  }
+
+  List<Integer> applicableIntervals(LocalDate deadline) {
+    LocalDate today = LocalDate.ofInstant(clock.instant(), clock.getZone());
+    List<Integer> intervals = new ArrayList<>(notificationPlan.size());
+    for (int i = 0; i < notificationPlan.size(); i++) {
+      int howManyDaysBefore = notificationPlan.interval(i);
+      if (notificationPlan.isApplicable(howManyDaysBefore, deadline, today)) {
+        intervals.add(howManyDaysBefore);
+      }
+    }
+    return intervals;
+  }
+
+  boolean dailyTick() {
+    return config.getString("cfp.notifier.scheduler").equals("daily-tick");
+  }
+
+  /**
+   * Registered even without intervals, the deadline tells edits whether the timers have to be rescheduled.
+   */
+  private CompletionStage<Done> registerScheduled(String cfpId, List<Integer> intervals, LocalDate deadline) {
+    return componentClient.forValueEntity(cfpId)
+      .call(ScheduledNotificationsEntity::register)
+      .params(new RegisterScheduledNotifications(intervals, deadline))
+      .execute()
+      .thenApply(__ -> Done.getInstance());
+  }
+
+  static String timerName(Integer interval, String cfpId) {
+    return "notifyAboutCfp-" + cfpId + "-" + interval;
+  }
+
+  static String rescheduleTimerName(String cfpId) {
+    return "rescheduleCfp-" + cfpId;
+  }
+}
@@ -0,0 +1,116 @@
+package io.kalix.application;
+
+import akka.Done;
+import io.kalix.domain.CallForPaperReminder;
+import io.kalix.view.AllCallForPaperView;
+import io.kalix.view.CallForPaperView;
+import kalix.javasdk.action.Action;
+import kalix.javasdk.client.ComponentClient;
+import kalix.javasdk.timer.TimerScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static io.kalix.application.NotificationScheduler.timerName;
+import static java.util.Arrays.stream;
+
+/**
+ * Calendar-wheel alternative to a timer per cfp and interval (cfp.notifier.scheduler = "daily-tick"). Once a day a
+ * single timer queries the view for cfps with a deadline exactly {@code interval} days from today and starts an
+ * immediate timer per due reminder, so the timer store only holds reminders that are due.
+ */
+@RequestMapping("/notification-tick")
+public class NotificationTick extends Action {
+
+  private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final Clock clock;
+  private final ComponentClient componentClient;
+  private final NotificationPlan notificationPlan;
+  private final ApplicationMetrics metrics;
+
+  public NotificationTick(Clock clock, ComponentClient componentClient, NotificationPlan notificationPlan, ApplicationMetrics metrics) {
+    this.clock = clock;
+    this.componentClient = componentClient;
+    this.notificationPlan = notificationPlan;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Ticks for today, e.g. from the backoffice.
+   */
+  @PostMapping
+  public Effect<Done> tick() {
+    return tickDay(LocalDate.ofInstant(clock.instant(), clock.getZone()).toString());
+  }
+
+  /**
+   * The next tick is scheduled once all due reminders are, a failure fails the call and the timer of this day is
+   * retried. The timer of the next day has a different name, so cfp changes scheduling it don't replace the retry.
+   */
+  @PostMapping("/{day}")
+  public Effect<Done> tickDay(@PathVariable String day) {
+    LocalDate today = LocalDate.parse(day);
+    TimerScheduler timers = timers();
+
+    List<CompletableFuture<Done>> reminders = stream(notificationPlan.intervals()).boxed().map(howManyDaysBefore ->
+      metrics.timeViewQuery("getCallForPapersByDeadline", () -> componentClient.forView()
+        .call(AllCallForPaperView::getCallForPapersByDeadline)
+        .params(today.plusDays(howManyDaysBefore).toEpochDay())
+        .execute())
+        .thenCompose(callForPaperList -> scheduleReminders(timers, callForPaperList.callForPaperViews(), howManyDaysBefore))
+        .toCompletableFuture()
+    ).toList();
+
+    return effects().asyncReply(
+      CompletableFuture.allOf(reminders.toArray(new CompletableFuture<?>[0]))
+        .thenCompose(__ -> scheduleTick(timers, componentClient, notificationPlan, clock.instant(), today.plusDays(1))));
+  }
+
+  private CompletionStage<Done> scheduleReminders(TimerScheduler timers, List<CallForPaperView> dueCallForPapers, int howManyDaysBefore) {
+    List<CompletableFuture<Done>> timersSchedules = dueCallForPapers.stream().map(cfp -> {
+      logger.info("Cfp: {} is due for notification {} days before {}", cfp.id(), howManyDaysBefore, cfp.deadline());
+      var reminder = new CallForPaperReminder(cfp.id(), cfp.conferenceName(), cfp.deadline(), cfp.conferenceLink(), howManyDaysBefore);
+      return timers.startSingleTimer(
+        timerName(howManyDaysBefore, cfp.id()),
+        Duration.ZERO,
+        componentClient.forAction().call(Notify::runNotification).params(reminder)).toCompletableFuture();
+    }).toList();
+    metrics.timersScheduled("daily-tick", timersSchedules.size());
+    return CompletableFuture.allOf(timersSchedules.toArray(new CompletableFuture<?>[0])).thenApply(__ -> Done.getInstance());
+  }
+
+  /**
+   * Schedules the tick of tomorrow at the same hour as the per cfp timers. Starting it again only replaces the timer
+   * with the same due time, so it's safe to call on every cfp change.
+   */
+  static CompletionStage<Done> scheduleNextTick(TimerScheduler timers, ComponentClient componentClient, NotificationPlan notificationPlan, Clock clock) {
+    Instant now = clock.instant();
+    LocalDate tomorrow = LocalDate.ofInstant(now, clock.getZone()).plusDays(1);
+    return scheduleTick(timers, componentClient, notificationPlan, now, tomorrow);
+  }
+
+  /**
+   * A tick retried past the due time of the next one schedules it right away, so no day is skipped.
+   */
+  private static CompletionStage<Done> scheduleTick(TimerScheduler timers, ComponentClient componentClient, NotificationPlan notificationPlan, Instant now, LocalDate day) {
+    return timers.startSingleTimer(
+      tickTimerName(day),
+      notificationPlan.durationUntilTick(now, day),
+      componentClient.forAction().call(NotificationTick::tickDay).params(day.toString()));
+  }
+
+  static String tickTimerName(LocalDate day) {
+    return "notificationTick-" + day;
+  }
+}
@@ -1,24 +1,206 @@
 package io.kalix.application;
 
 import akka.Done;
+import com.typesafe.config.Config;
 import io.kalix.domain.CallForPaperReminder;
+import io.kalix.domain.ReminderDigest;
+import io.kalix.view.AllCallForPaperView;
 import kalix.javasdk.action.Action;
+import kalix.javasdk.client.ComponentClient;
+import kalix.javasdk.timer.TimerScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 
 @RequestMapping("/notify")
 public class Notify extends Action {
 
+  static final String SLACK_UNAVAILABLE_SLOT = "slack-unavailable";
+  static final String UNDELIVERED_SLOT_PREFIX = "undelivered-";
+
+  private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
   private final SlackClient slackClient;
+  private final ComponentClient componentClient;
+  private final Config config;
+  private final Clock clock;
+  private final ApplicationMetrics metrics;
 
-  public Notify(SlackClient slackClient) {
+  public Notify(SlackClient slackClient, ComponentClient componentClient, Config config, Clock clock, ApplicationMetrics metrics) {
     this.slackClient = slackClient;
+    this.componentClient = componentClient;
+    this.config = config;
+    this.clock = clock;
+    this.metrics = metrics;
   }
 
   @PostMapping
   public Effect<Done> runNotification(@RequestBody CallForPaperReminder callForPaperReminder) {
-    return effects().asyncReply(slackClient.notifyAboutOpenCfp(callForPaperReminder).thenApply(__ -> Done.getInstance()));
+    metrics.timerFired();
+    SlackClient slackClient = TracingSlackClient.of(this.slackClient, actionContext());
+    return effects().asyncReply(refresh(callForPaperReminder).thenCompose(current -> {
+      if (current.isEmpty()) {
+        logger.info("Cfp deleted or its deadline changed, dropping reminder {}", callForPaperReminder);
+        return CompletableFuture.completedStage(Done.getInstance());
+      }
+      CallForPaperReminder reminder = current.get();
+      if (config.getBoolean("cfp.notifier.notification-batching.enabled")) {
+        return addToDigest(reminder);
+      } else {
+        return slackClient.notifyAboutOpenCfp(reminder)
+          .thenCompose(response -> SlackUnavailableException.isCause(response)
+            ? addToSlackUnavailableDigest(reminder, (SlackResponse.Failure) response)
+            : UndeliveredChannelsException.isCause(response)
+            ? addToUndeliveredDigests("reminder " + reminder, List.of(reminder), (SlackResponse.Failure) response)
+            : SlackResponses.handle("reminder " + reminder, response, metrics));
+      }
+    }));
+  }
+
+  /**
+   * The reminder was created when its timer was scheduled, the cfp could have been edited since. Reminders for deleted
+   * cfps and old deadlines are dropped, a moved deadline has its own timers.
+   */
+  private CompletionStage<Optional<CallForPaperReminder>> refresh(CallForPaperReminder reminder) {
+    return metrics.timeViewQuery("getCallForPapersByDeadline", () -> componentClient.forView()
+        .call(AllCallForPaperView::getCallForPapersByDeadline)
+        .params(LocalDate.parse(reminder.deadline()).toEpochDay())
+        .execute())
+      .thenApply(callForPaperList -> callForPaperList.callForPaperViews().stream()
+        .filter(cfp -> cfp.id().equals(reminder.id()))
+        .findFirst()
+        .map(cfp -> new CallForPaperReminder(cfp.id(), cfp.conferenceName(), cfp.deadline(), cfp.conferenceLink(), reminder.howManyDaysLeft())));
+  }
+
+  @PostMapping("/digest/{slot}")
+  public Effect<Done> flushDigest(@PathVariable String slot) {
+    SlackClient tracingSlackClient = TracingSlackClient.of(this.slackClient, actionContext());
+    SlackClient slackClient = undeliveredChannel(slot).map(tracingSlackClient::toChannel).orElse(tracingSlackClient);
+    TimerScheduler timers = timers();
+    CompletionStage<Done> flush = componentClient.forValueEntity(slot)
+      .call(ReminderDigestEntity::get).execute()
+      .thenCompose(digest -> {
+        if (digest.reminders().isEmpty()) {
+          return CompletableFuture.completedStage(Done.getInstance());
+        } else {
+          logger.info("Sending digest {} with {} reminders", slot, digest.reminders().size());
+          return slackClient.notifyAboutOpenCfps(digest.reminders())
+            .thenCompose(response -> UndeliveredChannelsException.isCause(response)
+              ? addToUndeliveredDigests("digest " + slot, digest.reminders(), (SlackResponse.Failure) response)
+              : SlackResponses.handle("digest " + slot, response, metrics))
+            .thenCompose(__ -> removeSent(slot, digest))
+            .thenCompose(leftover -> scheduleLeftoverFlush(timers, slot, leftover));
+        }
+      });
+    return effects().asyncReply(flush);
+  }
+
+  private CompletionStage<Done> addToDigest(CallForPaperReminder reminder) {
+    String slot = String.valueOf(clock.instant().truncatedTo(ChronoUnit.HOURS).getEpochSecond() / 3600);
+    return addToDigest(slot, reminder, config.getDuration("cfp.notifier.notification-batching.flush-delay"));
+  }
+
+  /**
+   * Keeps the reminder durably while Slack is unavailable (circuit breaker open). The digest is flushed once the
+   * breaker is expected to let calls through, a failed flush is retried by its timer.
+   */
+  private CompletionStage<Done> addToSlackUnavailableDigest(CallForPaperReminder reminder, SlackResponse.Failure failure) {
+    logger.warn("Slack unavailable, queueing reminder {}", reminder);
+    return addToDigest(SLACK_UNAVAILABLE_SLOT, reminder, ((SlackUnavailableException) failure.exception()).retryAfter());
+  }
+
+  /**
+   * Keeps the reminders durably for each channel that didn't accept them, in a digest flushed to that channel only,
+   * so the channels that accepted them don't get them twice.
+   */
+  private CompletionStage<Done> addToUndeliveredDigests(String what, List<CallForPaperReminder> reminders, SlackResponse.Failure failure) {
+    var undelivered = (UndeliveredChannelsException) failure.exception();
+    Duration flushDelay = config.getDuration("cfp.notifier.notification-batching.flush-delay");
+    CompletionStage<Done> added = CompletableFuture.completedStage(Done.getInstance());
+    for (String channel : SlackResponses.retryableChannels(what, undelivered, metrics)) {
+      Duration delay = undelivered.retryAfter(channel, flushDelay);
+      logger.warn("Channel {} didn't accept {}, queueing it", channel, what);
+      for (CallForPaperReminder reminder : reminders) {
+        added = added.thenCompose(__ -> addToDigest(UNDELIVERED_SLOT_PREFIX + channel, reminder, delay));
+      }
+    }
+    return added;
+  }
+
+  private static Optional<String> undeliveredChannel(String slot) {
+    return slot.startsWith(UNDELIVERED_SLOT_PREFIX)
+      ? Optional.of(slot.substring(UNDELIVERED_SLOT_PREFIX.length()))
+      : Optional.empty();
+  }
+
+  private CompletionStage<Done> addToDigest(String slot, CallForPaperReminder reminder, Duration flushDelay) {
+    return componentClient.forValueEntity(slot)
+      .call(ReminderDigestEntity::add)
+      .params(reminder)
+      .execute()
+      .thenCompose(digest -> scheduleFlush(slot, digest, flushDelay));
+  }
+
+  /**
+   * Until the flush timer is recorded, every add starts it again, with the same name, so a failed start is repaired by
+   * the retried call or the next reminder added to the digest.
+   */
+  private CompletionStage<Done> scheduleFlush(String slot, ReminderDigest digest, Duration flushDelay) {
+    if (digest.flushScheduled()) {
+      return CompletableFuture.completedStage(Done.getInstance());
+    } else {
+      logger.debug("Scheduling digest {} flush in {}", slot, flushDelay);
+      return startFlushTimer(timers(), slot, digest, flushDelay);
+    }
+  }
+
+  /**
+   * Reminders added while the digest was being sent found its flush scheduled and didn't start a timer, they are
+   * flushed by a timer of their own.
+   */
+  private CompletionStage<Done> scheduleLeftoverFlush(TimerScheduler timers, String slot, ReminderDigest leftover) {
+    if (leftover.reminders().isEmpty()) {
+      return CompletableFuture.completedStage(Done.getInstance());
+    }
+    Duration flushDelay = config.getDuration("cfp.notifier.notification-batching.flush-delay");
+    logger.info("{} reminders added to digest {} during the flush, flushing them in {}", leftover.reminders().size(), slot, flushDelay);
+    return startFlushTimer(timers, slot, leftover, flushDelay);
+  }
+
+  /**
+   * The timer is named after the first reminder of the digest, so a flush timer started while a flush is running
+   * never replaces the running one, which is removed once its call completes.
+   */
+  private CompletionStage<Done> startFlushTimer(TimerScheduler timers, String slot, ReminderDigest digest, Duration flushDelay) {
+    CallForPaperReminder first = digest.reminders().getFirst();
+    return timers.startSingleTimer(
+        "flushReminderDigest-" + slot + "-" + first.id() + "-" + first.howManyDaysLeft(),
+        flushDelay,
+        componentClient.forAction().call(Notify::flushDigest).params(slot))
+      .thenCompose(__ -> componentClient.forValueEntity(slot).call(ReminderDigestEntity::markFlushScheduled).execute())
+      .thenApply(__ -> Done.getInstance());
+  }
+
+  /**
+   * @return the reminders added since the digest was read
+   */
+  private CompletionStage<ReminderDigest> removeSent(String slot, ReminderDigest sent) {
+    return componentClient.forValueEntity(slot)
+      .call(ReminderDigestEntity::remove)
+      .params(sent)
+      .execute();
   }
 }
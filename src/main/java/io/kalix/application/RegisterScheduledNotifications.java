@@ -0,0 +1,7 @@
+package io.kalix.application;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record RegisterScheduledNotifications(List<Integer> intervals, LocalDate deadline) {
+}
@@ -0,0 +1,84 @@
+package io.kalix.application;
+
+import io.kalix.domain.CallForPaperReminder;
+import io.kalix.domain.ReminderDigest;
+import kalix.javasdk.annotations.Id;
+import kalix.javasdk.annotations.TypeId;
+import kalix.javasdk.valueentity.ValueEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+/**
+ * Collects all reminders due in the same slot (one hour), so they can be sent to Slack as a single message.
+ */
+@TypeId("reminder-digest")
+@Id("slot")
+@RequestMapping("/reminder-digest/{slot}")
+public class ReminderDigestEntity extends ValueEntity<ReminderDigest> {
+
+  private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  @Override
+  public ReminderDigest emptyState() {
+    return ReminderDigest.empty();
+  }
+
+  @PostMapping("/add")
+  public Effect<ReminderDigest> add(@RequestBody CallForPaperReminder reminder) {
+    if (currentState().contains(reminder)) {
+      logger.debug("Reminder already in digest {}: {}", commandContext().entityId(), reminder);
+      return effects().reply(currentState());
+    } else {
+      var updated = currentState().add(reminder);
+      return effects()
+        .updateState(updated)
+        .thenReply(updated);
+    }
+  }
+
+  /**
+   * Recorded after the flush timer was started, until then every add tells the caller to start it. A digest flushed
+   * in the meantime has nothing to record.
+   */
+  @PostMapping("/flush-scheduled")
+  public Effect<ReminderDigest> markFlushScheduled() {
+    if (currentState().reminders().isEmpty() || currentState().flushScheduled()) {
+      return effects().reply(currentState());
+    } else {
+      var updated = currentState().withFlushScheduled();
+      return effects()
+        .updateState(updated)
+        .thenReply(updated);
+    }
+  }
+
+  /**
+   * Removes the sent reminders, the ones added in the meantime are kept for the next flush, which has to be scheduled.
+   */
+  @PostMapping("/remove")
+  public Effect<ReminderDigest> remove(@RequestBody ReminderDigest sent) {
+    var updated = currentState().removeAll(sent);
+    if (updated.reminders().isEmpty()) {
+      return effects().deleteEntity().thenReply(updated);
+    } else {
+      return effects()
+        .updateState(updated)
+        .thenReply(updated);
+    }
+  }
+
+  @GetMapping
+  public Effect<ReminderDigest> get() {
+    return effects().reply(currentState());
+  }
+
+  @PatchMapping
+  public Effect<String> delete() {
+    return effects().deleteEntity().thenReply("Deleted");
+  }
+}
@@ -0,0 +1,68 @@
+package io.kalix.application;
+
+import akka.Done;
+import com.typesafe.config.Config;
+import kalix.javasdk.action.Action;
+import kalix.javasdk.client.ComponentClient;
+import kalix.javasdk.timer.TimerScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static io.kalix.application.NotificationScheduler.timerName;
+
+/**
+ * Target of the debounced reschedule timer started by {@link ScheduleNotification} when the deadline of a cfp
+ * changed. A separate Action, a subscribing one can't expose endpoints.
+ */
+@RequestMapping("/reschedule-notifications")
+public class RescheduleNotifications extends Action {
+
+  private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final ComponentClient componentClient;
+  private final NotificationScheduler notificationScheduler;
+  private final ApplicationMetrics metrics;
+
+  public RescheduleNotifications(Config config, Clock clock, ComponentClient componentClient, NotificationPlan notificationPlan, ApplicationMetrics metrics) {
+    this.componentClient = componentClient;
+    this.notificationScheduler = new NotificationScheduler(config, clock, componentClient, notificationPlan, metrics);
+    this.metrics = metrics;
+  }
+
+  /**
+   * Moves the notification timers to the current deadline, the ones that no longer apply are cancelled.
+   */
+  @PostMapping("/{cfpId}")
+  public Effect<Done> reschedule(@PathVariable String cfpId) {
+    TimerScheduler timers = timers();
+    CompletionStage<Done> rescheduled = componentClient.forValueEntity(cfpId)
+      .call(CallForPaperEntity::get).execute()
+      .thenCompose(callForPaper -> componentClient.forValueEntity(cfpId)
+        .call(ScheduledNotificationsEntity::get).execute()
+        .thenCompose(scheduled -> {
+          if (callForPaper.deadline().equals(scheduled.deadline())) {
+            logger.debug("Deadline of cfp {} changed back, not rescheduling", cfpId);
+            return CompletableFuture.completedStage(Done.getInstance());
+          }
+          metrics.rescheduled();
+          List<Integer> applicable = notificationScheduler.applicableIntervals(callForPaper.deadline());
+          List<CompletableFuture<Done>> cancellations = scheduled.intervals().stream()
+            .filter(interval -> !applicable.contains(interval))
+            .map(interval -> timers.cancel(timerName(interval, cfpId)).toCompletableFuture())
+            .toList();
+          metrics.timersCancelled(cancellations.size());
+          logger.info("Rescheduling notifications for cfp: {}, cancelled intervals: {}", callForPaper, cancellations.size());
+          return CompletableFuture.allOf(cancellations.toArray(new CompletableFuture<?>[0]))
+            .thenCompose(__ -> notificationScheduler.scheduleNotifications(timers, callForPaper));
+        }));
+    return effects().asyncReply(rescheduled);
+  }
+}
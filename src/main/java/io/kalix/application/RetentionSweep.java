@@ -0,0 +1,134 @@
+package io.kalix.application;
+
+import akka.Done;
+import com.typesafe.config.Config;
+import io.kalix.domain.ArchivedCallForPaper;
+import io.kalix.view.AllCallForPaperView;
+import io.kalix.view.CallForPaperPage;
+import io.kalix.view.CallForPaperView;
+import kalix.javasdk.action.Action;
+import kalix.javasdk.client.ComponentClient;
+import kalix.javasdk.timer.TimerScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static io.kalix.application.DurationCalculator.calculateDuration;
+
+/**
+ * Once a day moves cfps with a deadline older than {@code cfp.notifier.retention.grace-period} to the
+ * {@link ArchivedCallForPaperEntity} and deletes them, so the cfp view holds only open and recently closed cfps.
+ * A cfp is archived before it's deleted, archiving is idempotent, so a failed sweep is simply repeated.
+ * When there are more expired cfps than {@code batch-size}, the next batch is swept after {@code continuation-delay},
+ * giving the view time to catch up with the deletes.
+ * <p>
+ * The daily sweep and the continuation have different timer names, a timer started from within a call of the timer
+ * with the same name would be removed when that call completes, and scheduling tomorrow's sweep never replaces a
+ * pending continuation.
+ */
+@RequestMapping("/retention-sweep")
+public class RetentionSweep extends Action {
+
+  private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final Config config;
+  private final Clock clock;
+  private final ComponentClient componentClient;
+  private final ApplicationMetrics metrics;
+
+  public RetentionSweep(Config config, Clock clock, ComponentClient componentClient, ApplicationMetrics metrics) {
+    this.config = config;
+    this.clock = clock;
+    this.componentClient = componentClient;
+    this.metrics = metrics;
+  }
+
+  @PostMapping
+  public Effect<Done> sweep() {
+    if (!config.getBoolean("cfp.notifier.retention.enabled")) {
+      logger.info("Retention disabled, skipping sweep");
+      return effects().reply(Done.getInstance());
+    }
+    LocalDate today = LocalDate.ofInstant(clock.instant(), clock.getZone());
+    long cutoff = today.minusDays(config.getDuration("cfp.notifier.retention.grace-period").toDays()).toEpochDay();
+    int batchSize = config.getInt("cfp.notifier.retention.batch-size");
+    TimerScheduler timers = timers();
+
+    CompletionStage<Done> sweep = metrics.timeViewQuery("getExpiredCallForPapers", () -> componentClient.forView()
+        .call(AllCallForPaperView::getExpiredCallForPapers)
+        .params(cutoff, batchSize)
+        .execute())
+      .thenCompose(page -> archiveAll(page.callForPaperViews())
+        .thenCompose(archived -> scheduleNext(timers, page, archived)));
+    return effects().asyncReply(sweep);
+  }
+
+  private CompletionStage<Long> archiveAll(List<CallForPaperView> expired) {
+    if (!expired.isEmpty()) {
+      logger.info("Archiving {} expired cfps", expired.size());
+    }
+    List<CompletableFuture<Boolean>> archived = expired.stream()
+      .map(cfp -> archive(cfp.id()).toCompletableFuture())
+      .toList();
+    return CompletableFuture.allOf(archived.toArray(new CompletableFuture<?>[0]))
+      .thenApply(__ -> archived.stream().filter(CompletableFuture::join).count());
+  }
+
+  private CompletionStage<Boolean> archive(String cfpId) {
+    Instant now = clock.instant();
+    return componentClient.forValueEntity(cfpId)
+      .call(CallForPaperEntity::get).execute()
+      .thenCompose(callForPaper -> componentClient.forValueEntity(cfpId)
+        .call(ArchivedCallForPaperEntity::archive)
+        .params(ArchivedCallForPaper.of(callForPaper, now))
+        .execute())
+      .thenCompose(__ -> componentClient.forValueEntity(cfpId).call(CallForPaperEntity::delete).execute())
+      .thenApply(__ -> {
+        metrics.cfpArchived();
+        return true;
+      })
+      .exceptionally(throwable -> {
+        // most likely already deleted, but still in the view
+        logger.warn("Failed to archive cfp: {}, will retry on the next sweep", cfpId, throwable);
+        return false;
+      });
+  }
+
+  private CompletionStage<Done> scheduleNext(TimerScheduler timers, CallForPaperPage page, long archived) {
+    if (page.hasMore() && archived > 0) {
+      Duration continuationDelay = config.getDuration("cfp.notifier.retention.continuation-delay");
+      return timers.startSingleTimer(continuationTimerName(clock.instant()), continuationDelay, componentClient.forAction().call(RetentionSweep::sweep));
+    } else {
+      return scheduleNextSweep(timers, componentClient, clock);
+    }
+  }
+
+  /**
+   * Schedules the next sweep for tomorrow, scheduling it again the same day replaces it with the same timer.
+   */
+  static CompletionStage<Done> scheduleNextSweep(TimerScheduler timers, ComponentClient componentClient, Clock clock) {
+    Instant now = clock.instant();
+    LocalDate tomorrow = LocalDate.ofInstant(now, clock.getZone()).plusDays(1);
+    return timers.startSingleTimer(
+      sweepTimerName(tomorrow),
+      calculateDuration(now, 0, tomorrow, clock),
+      componentClient.forAction().call(RetentionSweep::sweep));
+  }
+
+  static String sweepTimerName(LocalDate day) {
+    return "retentionSweep-" + day;
+  }
+
+  private static String continuationTimerName(Instant now) {
+    return "retentionSweepContinuation-" + now.toEpochMilli();
+  }
+}
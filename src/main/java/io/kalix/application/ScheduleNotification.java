@@ -3,22 +3,22 @@ package io.kalix.application;
 import akka.Done;
 import com.typesafe.config.Config;
 import io.kalix.domain.CallForPaper;
-import io.kalix.domain.CallForPaperReminder;
 import kalix.javasdk.action.Action;
 import kalix.javasdk.annotations.Subscribe;
 import kalix.javasdk.client.ComponentClient;
+import kalix.javasdk.timer.TimerScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Clock;
-import java.time.Instant;
-import java.time.LocalDate;
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.function.Predicate;
+import java.util.stream.Stream;
 
-import static io.kalix.application.DurationCalculator.calculateDuration;
+import static io.kalix.application.NotificationScheduler.rescheduleTimerName;
+import static io.kalix.application.NotificationScheduler.timerName;
 import static java.util.Arrays.stream;
 
 public class ScheduleNotification extends Action {
@@ -28,54 +28,107 @@ public class ScheduleNotification extends Action {
   private final Config config;
   private final Clock clock;
   private final ComponentClient componentClient;
+  private final NotificationPlan notificationPlan;
+  private final NotificationScheduler notificationScheduler;
+  private final ApplicationMetrics metrics;
 
-  public ScheduleNotification(Config config, Clock clock, ComponentClient componentClient) {
+  public ScheduleNotification(Config config, Clock clock, ComponentClient componentClient, NotificationPlan notificationPlan, ApplicationMetrics metrics) {
     this.config = config;
     this.clock = clock;
     this.componentClient = componentClient;
+    this.notificationPlan = notificationPlan;
+    this.notificationScheduler = new NotificationScheduler(config, clock, componentClient, notificationPlan, metrics);
+    this.metrics = metrics;
   }
 
   @Subscribe.ValueEntity(CallForPaperEntity.class)
   public Effect<Done> onChange(CallForPaper callForPaper) {
-    Instant now = clock.instant();
-    LocalDate today = LocalDate.ofInstant(now, clock.getZone());
-    List<CompletionStage<Done>> timersSchedules = getIntervals().stream().filter(applicableIntervals(callForPaper, today)).map(howManyDaysBefore -> {
-      logger.info("Scheduling notification for cfp: {} {} days before {}", callForPaper, howManyDaysBefore, callForPaper.deadline());
-      return timers().startSingleTimer(
-        timerName(howManyDaysBefore, callForPaper.id()),
-        calculateDuration(now, howManyDaysBefore, callForPaper.deadline(), clock),
-        componentClient.forAction().call(Notify::runNotification).params(CallForPaperReminder.of(callForPaper, howManyDaysBefore)));
-    }).toList();
+    TimerScheduler timers = timers();
+    CompletionStage<Done> notifications = callForPaper.updatedAt() == null
+      ? onCreate(timers, callForPaper)
+      : onUpdate(timers, callForPaper);
+    return effects().asyncReply(notifications);
+  }
 
-    return effects().asyncReply(
-      CompletableFuture.allOf(timersSchedules.toArray(new CompletableFuture<?>[0]))
-        .thenApply(__ -> Done.getInstance())
-    );
+  /**
+   * A new cfp is changed again once it's announced, its timers are usually scheduled by then. The change stream can
+   * skip the creation, so they are scheduled if they are not.
+   */
+  private CompletionStage<Done> onCreate(TimerScheduler timers, CallForPaper callForPaper) {
+    if (!callForPaper.announced()) {
+      return notificationScheduler.scheduleNotifications(timers, callForPaper)
+        .thenCompose(__ -> scheduleRetentionSweep(timers));
+    }
+    return componentClient.forValueEntity(callForPaper.id())
+      .call(ScheduledNotificationsEntity::get).execute()
+      .thenCompose(scheduled -> callForPaper.deadline().equals(scheduled.deadline())
+        ? CompletableFuture.completedStage(Done.getInstance())
+        : notificationScheduler.scheduleNotifications(timers, callForPaper));
   }
 
-  @Subscribe.ValueEntity(value = CallForPaperEntity.class, handleDeletes = true)
-  public Effect<Done> onDelete() {
-    return effects().asyncReply(actionContext().metadata().asCloudEvent().subject().map(cfpId -> {
-      logger.info("Deleting scheduled notifications for cfp: {}", cfpId);
-      return timers().cancel(timerName(7, cfpId)).thenCompose(__ ->
-        timers().cancel(timerName(1, cfpId)));
-    }).orElse(CompletableFuture.completedStage(Done.getInstance())));
+  /**
+   * Most edits don't change the deadline and cost no timer operations. A changed deadline is rescheduled after
+   * {@code cfp.notifier.reschedule-debounce}, with a single timer per cfp, so a burst of edits is rescheduled once.
+   */
+  private CompletionStage<Done> onUpdate(TimerScheduler timers, CallForPaper callForPaper) {
+    if (notificationScheduler.dailyTick()) {
+      // the tick reads deadlines from the view
+      return CompletableFuture.completedStage(Done.getInstance());
+    }
+    return componentClient.forValueEntity(callForPaper.id())
+      .call(ScheduledNotificationsEntity::get).execute()
+      .thenCompose(scheduled -> {
+        if (callForPaper.deadline().equals(scheduled.deadline())) {
+          logger.debug("Deadline of cfp {} unchanged, not rescheduling", callForPaper.id());
+          return CompletableFuture.completedStage(Done.getInstance());
+        }
+        Duration debounce = config.getDuration("cfp.notifier.reschedule-debounce");
+        logger.info("Deadline of cfp {} changed to {}, rescheduling in {}", callForPaper.id(), callForPaper.deadline(), debounce);
+        metrics.timersScheduled("reschedule", 1);
+        return timers.startSingleTimer(
+          rescheduleTimerName(callForPaper.id()),
+          debounce,
+          componentClient.forAction().call(RescheduleNotifications::reschedule).params(callForPaper.id()));
+      });
   }
 
-  private static String timerName(Integer interval, String cfpId) {
-    return "notifyAboutCfp-" + cfpId + "-" + interval;
+  /**
+   * Kalix has no startup hook, a new cfp is the moment to make sure the daily sweep is scheduled. Edits don't pay for
+   * the timer write, the sweep reschedules itself.
+   */
+  private CompletionStage<Done> scheduleRetentionSweep(TimerScheduler timers) {
+    if (config.getBoolean("cfp.notifier.retention.enabled")) {
+      return RetentionSweep.scheduleNextSweep(timers, componentClient, clock);
+    } else {
+      return CompletableFuture.completedStage(Done.getInstance());
+    }
   }
 
-  private Predicate<Integer> applicableIntervals(CallForPaper callForPaper, LocalDate today) {
-    return interval -> callForPaper.deadline().minusDays(interval).isAfter(today);
+  @Subscribe.ValueEntity(value = CallForPaperEntity.class, handleDeletes = true)
+  public Effect<Done> onDelete() {
+    return effects().asyncReply(actionContext().metadata().asCloudEvent().subject().map(cfpId ->
+      componentClient.forValueEntity(cfpId)
+        .call(ScheduledNotificationsEntity::get).execute()
+        .thenCompose(scheduled -> {
+          List<Integer> intervals = scheduled.intervals().isEmpty() ? fallbackIntervals() : scheduled.intervals();
+          logger.info("Deleting scheduled notifications for cfp: {}, intervals: {}", cfpId, intervals);
+          List<CompletableFuture<Done>> cancellations = Stream.concat(
+              intervals.stream().map(interval -> timerName(interval, cfpId)),
+              Stream.of(rescheduleTimerName(cfpId)))
+            .map(name -> timers().cancel(name).toCompletableFuture())
+            .toList();
+          metrics.timersCancelled(cancellations.size());
+          return CompletableFuture.allOf(cancellations.toArray(new CompletableFuture<?>[0]));
+        })
+        .thenCompose(__ -> componentClient.forValueEntity(cfpId).call(ScheduledNotificationsEntity::delete).execute())
+        .thenApply(__ -> Done.getInstance())
+    ).orElse(CompletableFuture.completedStage(Done.getInstance())));
   }
 
-  private List<Integer> getIntervals() {
-    String intervalsStr = config.getString("cfp.notifier.notification-intervals");
-    if (intervalsStr == null || intervalsStr.isEmpty()) {
-      return List.of(7, 1);
-    } else {
-      return stream(intervalsStr.split(",")).map(Integer::parseInt).toList();
-    }
+  /**
+   * Cfps scheduled before the timers were registered, cancel everything that could have been scheduled for them.
+   */
+  private List<Integer> fallbackIntervals() {
+    return Stream.concat(stream(notificationPlan.intervals()).boxed(), Stream.of(7, 1)).distinct().toList();
   }
 }
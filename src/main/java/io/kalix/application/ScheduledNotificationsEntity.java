@@ -0,0 +1,48 @@
+package io.kalix.application;
+
+import io.kalix.domain.ScheduledNotifications;
+import kalix.javasdk.annotations.Id;
+import kalix.javasdk.annotations.TypeId;
+import kalix.javasdk.valueentity.ValueEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+/**
+ * Keeps track of the notification timers started for a cfp, so all of them can be cancelled when the cfp is deleted,
+ * even if the configured intervals changed in the meantime.
+ */
+@TypeId("scheduled-notifications")
+@Id("cfpId")
+@RequestMapping("/scheduled-notifications/{cfpId}")
+public class ScheduledNotificationsEntity extends ValueEntity<ScheduledNotifications> {
+
+  @Override
+  public ScheduledNotifications emptyState() {
+    return ScheduledNotifications.empty();
+  }
+
+  @PostMapping
+  public Effect<ScheduledNotifications> register(@RequestBody RegisterScheduledNotifications registerScheduledNotifications) {
+    var updated = currentState().add(registerScheduledNotifications.intervals(), registerScheduledNotifications.deadline());
+    if (updated.equals(currentState())) {
+      return effects().reply(currentState());
+    } else {
+      return effects()
+        .updateState(updated)
+        .thenReply(updated);
+    }
+  }
+
+  @GetMapping
+  public Effect<ScheduledNotifications> get() {
+    return effects().reply(currentState());
+  }
+
+  @PatchMapping
+  public Effect<String> delete() {
+    return effects().deleteEntity().thenReply("Deleted");
+  }
+}
@@ -8,13 +8,31 @@ import java.util.concurrent.CompletionStage;
 
 public interface SlackClient {
 
-  String getCfpsListPayload(List<CallForPaperView> openCallForPapers);
+  /**
+   * @return UTF-8 encoded JSON payload with the open cfps list
+   */
+  byte[] getCfpsListPayload(List<CallForPaperView> openCallForPapers);
+
+  /**
+   * @return UTF-8 encoded JSON options for the external select of the delete modal
+   */
+  byte[] getCfpOptionsPayload(List<CallForPaperView> callForPaperViews);
 
   CompletionStage<SlackResponse> postNewCfp(CallForPaperView callForPaperView);
 
-  CompletionStage<SlackResponse> openCfpsToDelete(List<CallForPaperView> openCallForPapers, String triggerId, String callbackId, String cfpIdField);
+  CompletionStage<SlackResponse> openCfpsToDelete(String triggerId, String callbackId, String cfpIdField);
 
   CompletionStage<SlackResponse> openAddCfp(String triggerId, String callbackId, String conferenceNameField, String conferenceLinkField, String conferenceCfpDeadlineField);
 
   CompletionStage<SlackResponse> notifyAboutOpenCfp(CallForPaperReminder callForPaperReminder);
+
+  CompletionStage<SlackResponse> notifyAboutOpenCfps(List<CallForPaperReminder> callForPaperReminders);
+
+  /**
+   * @return a client sending announcements and reminders to the given channel only, e.g. to retry a message the
+   * channel didn't accept, see {@link UndeliveredChannelsException}
+   */
+  default SlackClient toChannel(String channel) {
+    return this;
+  }
 }
@@ -1,7 +1,13 @@
 package io.kalix.application;
 
+import java.time.Duration;
+
 public sealed interface SlackResponse {
-  record Response(int code, String message) implements SlackResponse {
+  record Response(int code, String message, Duration retryAfter) implements SlackResponse {
+
+    public Response(int code, String message) {
+      this(code, message, Duration.ZERO);
+    }
   }
 
   record Failure(int code, String message, Throwable exception) implements SlackResponse {
@@ -0,0 +1,61 @@
+package io.kalix.application;
+
+import akka.Done;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Maps a Slack response to the outcome of a timer or subscription call, a failed call is retried by Kalix.
+ */
+final class SlackResponses {
+
+  private static final Logger logger = LoggerFactory.getLogger(SlackResponses.class);
+
+  private SlackResponses() {
+  }
+
+  /**
+   * Fails the call when Slack didn't accept the message, so it's retried later. Client errors other than 429 (e.g. a
+   * revoked webhook or an invalid payload) would fail on every retry, the message is dropped.
+   */
+  static CompletionStage<Done> handle(String what, SlackResponse response, ApplicationMetrics metrics) {
+    return switch (response) {
+      case SlackResponse.Response res when res.code() == 200 -> CompletableFuture.completedStage(Done.getInstance());
+      case SlackResponse.Response res when isPermanentFailure(res.code()) -> {
+        logger.error("Slack rejected {}, dropping it, status: {}, msg: {}", what, res.code(), res.message());
+        metrics.slackMessageDropped(res.code());
+        yield CompletableFuture.completedStage(Done.getInstance());
+      }
+      case SlackResponse.Response res ->
+        CompletableFuture.failedStage(new IllegalStateException("Failed to send " + what + ", status: " + res.code() + ", msg: " + res.message()));
+      case SlackResponse.Failure failure ->
+        CompletableFuture.failedStage(new IllegalStateException("Failed to send " + what + ", msg: " + failure.message(), failure.exception()));
+    };
+  }
+
+  /**
+   * @return the channels that didn't accept {@code what} and are worth retrying, the ones that rejected it with a
+   * client error other than 429 are dropped like in {@link #handle}
+   */
+  static List<String> retryableChannels(String what, UndeliveredChannelsException undelivered, ApplicationMetrics metrics) {
+    List<String> retryable = new ArrayList<>(undelivered.failures().size());
+    undelivered.failures().forEach((channel, response) -> {
+      if (response instanceof SlackResponse.Response res && isPermanentFailure(res.code())) {
+        logger.error("Slack channel {} rejected {}, dropping it, status: {}, msg: {}", channel, what, res.code(), res.message());
+        metrics.slackMessageDropped(res.code());
+      } else {
+        retryable.add(channel);
+      }
+    });
+    return retryable;
+  }
+
+  static boolean isPermanentFailure(int code) {
+    return code >= 400 && code < 500 && code != 429;
+  }
+}
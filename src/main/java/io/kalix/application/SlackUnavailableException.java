@@ -0,0 +1,24 @@
+package io.kalix.application;
+
+import java.time.Duration;
+
+/**
+ * The call was not sent, Slack is considered unavailable for at least {@code retryAfter}.
+ */
+public class SlackUnavailableException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  public SlackUnavailableException(String message, Duration retryAfter) {
+    super(message);
+    this.retryAfter = retryAfter;
+  }
+
+  public Duration retryAfter() {
+    return retryAfter;
+  }
+
+  public static boolean isCause(SlackResponse slackResponse) {
+    return slackResponse instanceof SlackResponse.Failure failure && failure.exception() instanceof SlackUnavailableException;
+  }
+}
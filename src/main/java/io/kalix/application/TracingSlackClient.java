@@ -0,0 +1,124 @@
+package io.kalix.application;
+
+import io.kalix.domain.CallForPaperReminder;
+import io.kalix.view.CallForPaperView;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import kalix.javasdk.action.ActionContext;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Wraps every Slack call in a CLIENT span, a child of the Kalix trace context of the current request. The span is
+ * current while the call is started, so the clients down the chain can add attributes to it (payload size, retry
+ * count). The span is always ended, also when the call fails.
+ * <p>
+ * Kalix gives access to the tracer per request, create it with {@link #of(SlackClient, ActionContext)} in the handler.
+ */
+public class TracingSlackClient implements SlackClient {
+
+  public static final AttributeKey<Long> HTTP_STATUS = AttributeKey.longKey("http.response.status_code");
+
+  private final SlackClient delegate;
+  private final Tracer tracer;
+  private final Context parent;
+
+  TracingSlackClient(SlackClient delegate, Tracer tracer, Context parent) {
+    this.delegate = delegate;
+    this.tracer = tracer;
+    this.parent = parent;
+  }
+
+  public static SlackClient of(SlackClient delegate, ActionContext actionContext) {
+    return actionContext.getOpenTelemetryTracer()
+      .<SlackClient>map(tracer -> new TracingSlackClient(delegate, tracer, actionContext.metadata().traceContext().asOpenTelemetryContext()))
+      .orElse(delegate);
+  }
+
+  @Override
+  public SlackClient toChannel(String channel) {
+    return new TracingSlackClient(delegate.toChannel(channel), tracer, parent);
+  }
+
+  @Override
+  public byte[] getCfpsListPayload(List<CallForPaperView> openCallForPapers) {
+    return delegate.getCfpsListPayload(openCallForPapers);
+  }
+
+  @Override
+  public byte[] getCfpOptionsPayload(List<CallForPaperView> callForPaperViews) {
+    return delegate.getCfpOptionsPayload(callForPaperViews);
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> postNewCfp(CallForPaperView callForPaperView) {
+    return trace("slack-api-post-new-cfp", () -> delegate.postNewCfp(callForPaperView));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> openCfpsToDelete(String triggerId, String callbackId, String cfpIdField) {
+    return trace("slack-api-open-cfps-to-delete", () -> delegate.openCfpsToDelete(triggerId, callbackId, cfpIdField));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> openAddCfp(String triggerId, String callbackId, String conferenceNameField, String conferenceLinkField, String conferenceCfpDeadlineField) {
+    return trace("slack-api-open-add-cfp", () -> delegate.openAddCfp(triggerId, callbackId, conferenceNameField, conferenceLinkField, conferenceCfpDeadlineField));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> notifyAboutOpenCfp(CallForPaperReminder callForPaperReminder) {
+    return trace("slack-api-notify-about-open-cfp", () -> delegate.notifyAboutOpenCfp(callForPaperReminder));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> notifyAboutOpenCfps(List<CallForPaperReminder> callForPaperReminders) {
+    return trace("slack-api-notify-about-open-cfps", () -> delegate.notifyAboutOpenCfps(callForPaperReminders));
+  }
+
+  private CompletionStage<SlackResponse> trace(String spanName, Supplier<CompletionStage<SlackResponse>> call) {
+    Span span = tracer.spanBuilder(spanName)
+      .setParent(parent)
+      .setSpanKind(SpanKind.CLIENT)
+      .startSpan();
+    CompletionStage<SlackResponse> response;
+    try (Scope __ = span.makeCurrent()) {
+      response = call.get();
+    } catch (RuntimeException e) {
+      span.recordException(e);
+      span.setStatus(StatusCode.ERROR);
+      span.end();
+      throw e;
+    }
+    return response.whenComplete((slackResponse, throwable) -> {
+      switch (slackResponse) {
+        case null -> {
+          if (throwable != null) {
+            span.recordException(throwable);
+          }
+          span.setStatus(StatusCode.ERROR);
+        }
+        case SlackResponse.Response res -> {
+          span.setAttribute(HTTP_STATUS, res.code());
+          if (res.code() != 200) {
+            span.setStatus(StatusCode.ERROR, res.message());
+          }
+        }
+        case SlackResponse.Failure failure -> {
+          span.setAttribute(HTTP_STATUS, failure.code());
+          if (failure.exception() != null) {
+            span.recordException(failure.exception());
+          }
+          span.setStatus(StatusCode.ERROR, failure.message());
+        }
+      }
+      span.end();
+    });
+  }
+}
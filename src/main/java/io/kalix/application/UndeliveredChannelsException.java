@@ -0,0 +1,40 @@
+package io.kalix.application;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The message was accepted by some of the subscribed channels only. Sending it again would duplicate it in the
+ * channels that accepted it, retry it with {@link SlackClient#toChannel(String)} for each failed channel instead.
+ */
+public class UndeliveredChannelsException extends RuntimeException {
+
+  private final Map<String, SlackResponse> failures;
+
+  /**
+   * @param failures the response of each channel that didn't accept the message, by channel name
+   */
+  public UndeliveredChannelsException(String message, Map<String, SlackResponse> failures) {
+    super(message);
+    this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+  }
+
+  public Map<String, SlackResponse> failures() {
+    return failures;
+  }
+
+  /**
+   * @return when the channel is expected to accept messages again, {@code fallback} unless it's unavailable
+   */
+  public Duration retryAfter(String channel, Duration fallback) {
+    return failures.get(channel) instanceof SlackResponse.Failure failure && failure.exception() instanceof SlackUnavailableException unavailable
+      ? unavailable.retryAfter()
+      : fallback;
+  }
+
+  public static boolean isCause(SlackResponse slackResponse) {
+    return slackResponse instanceof SlackResponse.Failure failure && failure.exception() instanceof UndeliveredChannelsException;
+  }
+}
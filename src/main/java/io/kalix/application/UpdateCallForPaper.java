@@ -0,0 +1,6 @@
+package io.kalix.application;
+
+import java.time.LocalDate;
+
+public record UpdateCallForPaper(String conferenceName, LocalDate deadline, String conferenceLink, String userName) {
+}
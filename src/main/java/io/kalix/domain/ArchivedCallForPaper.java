@@ -0,0 +1,18 @@
+package io.kalix.domain;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * What is left of a cfp after its deadline passed and the retention sweep removed it.
+ */
+public record ArchivedCallForPaper(String id,
+                                   String conferenceName,
+                                   LocalDate deadline,
+                                   String conferenceLink,
+                                   Instant archivedAt) {
+
+  public static ArchivedCallForPaper of(CallForPaper callForPaper, Instant archivedAt) {
+    return new ArchivedCallForPaper(callForPaper.id(), callForPaper.conferenceName(), callForPaper.deadline(), callForPaper.conferenceLink(), archivedAt);
+  }
+}
@@ -2,11 +2,40 @@ package io.kalix.domain;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Objects;
 
+/**
+ * @param silent    not announced on Slack when created
+ * @param updatedAt when the cfp was last edited, null if it was never edited
+ * @param announced posted on Slack, a repeated submission of a cfp that wasn't announces it
+ */
 public record CallForPaper(String id,
                            String conferenceName,
                            LocalDate deadline,
                            String conferenceLink,
                            String createdBy,
-                           Instant createdAt) {}
+                           Instant createdAt,
+                           boolean silent,
+                           Instant updatedAt,
+                           boolean announced) {
 
+  public CallForPaper(String id, String conferenceName, LocalDate deadline, String conferenceLink, String createdBy, Instant createdAt) {
+    this(id, conferenceName, deadline, conferenceLink, createdBy, createdAt, false, null, false);
+  }
+
+  public CallForPaper(String id, String conferenceName, LocalDate deadline, String conferenceLink, String createdBy, Instant createdAt, boolean silent) {
+    this(id, conferenceName, deadline, conferenceLink, createdBy, createdAt, silent, null, false);
+  }
+
+  public boolean sameContent(String conferenceName, LocalDate deadline, String conferenceLink) {
+    return Objects.equals(this.conferenceName, conferenceName) && Objects.equals(this.deadline, deadline) && Objects.equals(this.conferenceLink, conferenceLink);
+  }
+
+  public CallForPaper update(String conferenceName, LocalDate deadline, String conferenceLink, Instant updatedAt) {
+    return new CallForPaper(id, conferenceName, deadline, conferenceLink, createdBy, createdAt, silent, updatedAt, announced);
+  }
+
+  public CallForPaper markAnnounced() {
+    return new CallForPaper(id, conferenceName, deadline, conferenceLink, createdBy, createdAt, silent, updatedAt, true);
+  }
+}
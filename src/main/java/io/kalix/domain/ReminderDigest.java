@@ -0,0 +1,32 @@
+package io.kalix.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @param flushScheduled a flush timer was started for the reminders, reset once they are sent
+ */
+public record ReminderDigest(List<CallForPaperReminder> reminders, boolean flushScheduled) {
+
+  public static ReminderDigest empty() {
+    return new ReminderDigest(List.of(), false);
+  }
+
+  public boolean contains(CallForPaperReminder reminder) {
+    return reminders.stream().anyMatch(r -> r.id().equals(reminder.id()) && r.howManyDaysLeft() == reminder.howManyDaysLeft());
+  }
+
+  public ReminderDigest removeAll(ReminderDigest sent) {
+    return new ReminderDigest(reminders.stream().filter(r -> !sent.contains(r)).toList(), false);
+  }
+
+  public ReminderDigest add(CallForPaperReminder reminder) {
+    var updated = new ArrayList<>(reminders);
+    updated.add(reminder);
+    return new ReminderDigest(updated, flushScheduled);
+  }
+
+  public ReminderDigest withFlushScheduled() {
+    return new ReminderDigest(reminders, true);
+  }
+}
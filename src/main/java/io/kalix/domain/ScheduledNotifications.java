@@ -0,0 +1,21 @@
+package io.kalix.domain;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Intervals (days before the deadline) for which a notification timer was started for a cfp.
+ *
+ * @param deadline the deadline the timers were last scheduled for, null for cfps scheduled before it was tracked
+ */
+public record ScheduledNotifications(List<Integer> intervals, LocalDate deadline) {
+
+  public static ScheduledNotifications empty() {
+    return new ScheduledNotifications(List.of(), null);
+  }
+
+  public ScheduledNotifications add(List<Integer> newIntervals, LocalDate deadline) {
+    return new ScheduledNotifications(Stream.concat(intervals.stream(), newIntervals.stream()).distinct().sorted().toList(), deadline);
+  }
+}
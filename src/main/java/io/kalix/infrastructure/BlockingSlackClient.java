@@ -11,6 +11,7 @@ import com.slack.api.model.block.element.RichTextSectionElement.Emoji;
 import com.slack.api.model.block.element.RichTextSectionElement.Link;
 import com.slack.api.model.block.element.RichTextSectionElement.Text;
 import com.slack.api.model.view.View;
+import com.slack.api.util.http.SlackHttpClient;
 import com.slack.api.util.json.GsonFactory;
 import com.slack.api.webhook.Payload;
 import com.slack.api.webhook.WebhookResponse;
@@ -19,13 +20,15 @@ import io.kalix.application.SlackClient;
 import io.kalix.application.SlackResponse;
 import io.kalix.domain.CallForPaperReminder;
 import io.kalix.view.CallForPaperView;
+import io.opentelemetry.api.trace.Span;
+import okhttp3.OkHttpClient;
 import okhttp3.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.annotation.Profile;
-import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -38,28 +41,60 @@ import static com.slack.api.model.block.Blocks.section;
 import static com.slack.api.model.block.element.BlockElements.asElements;
 import static com.slack.api.model.block.element.BlockElements.asRichTextElements;
 import static com.slack.api.model.block.element.BlockElements.datePicker;
+import static com.slack.api.model.block.element.BlockElements.externalSelect;
 import static com.slack.api.model.block.element.BlockElements.plainTextInput;
 import static com.slack.api.model.block.element.BlockElements.richTextList;
 import static com.slack.api.model.block.element.BlockElements.richTextSection;
-import static com.slack.api.model.block.element.BlockElements.staticSelect;
 import static com.slack.api.model.view.Views.view;
 import static com.slack.api.model.view.Views.viewClose;
 import static com.slack.api.model.view.Views.viewSubmit;
 import static com.slack.api.model.view.Views.viewTitle;
 import static com.slack.api.webhook.WebhookPayloads.payload;
 
-@Component
-@Profile("production")
 public class BlockingSlackClient implements SlackClient {
 
+  private static final int MAX_OPTION_TEXT_LENGTH = 75;
+
   private final Logger logger = LoggerFactory.getLogger(this.getClass());
   private final Gson gson = GsonFactory.createSnakeCase(SlackConfig.DEFAULT);
 
-  private final Slack slack = Slack.getInstance(SlackConfig.DEFAULT);
-  private final Config config;
-  private String openViewUrl = "https://slack.com/api/views.open";
+  private final Slack webhookSlack;
+  private final Slack webApiSlack;
+  private final String webhook;
+  private final String botOauthToken;
+  private final String openViewUrl;
+
+  public BlockingSlackClient(Config config) {
+    this(config, SlackHttpSettings.of(config.getConfig("cfp.notifier.http")));
+  }
+
+  public BlockingSlackClient(Config config, SlackHttpSettings httpSettings) {
+    this.webhook = config.getString("cfp.notifier.webhook");
+    this.botOauthToken = config.getString("cfp.notifier.bot-oauth-token");
+    this.openViewUrl = config.getString("cfp.notifier.web-api-url") + "views.open";
+    OkHttpClient baseClient = httpSettings.baseClient();
+    this.webhookSlack = slack(SlackHttpSettings.endpointClient(baseClient, httpSettings.webhook()));
+    this.webApiSlack = slack(SlackHttpSettings.endpointClient(baseClient, httpSettings.webApi()));
+  }
+
+  private BlockingSlackClient(Slack webhookSlack, Slack webApiSlack, String webhook, String botOauthToken, String openViewUrl) {
+    this.webhookSlack = webhookSlack;
+    this.webApiSlack = webApiSlack;
+    this.webhook = webhook;
+    this.botOauthToken = botOauthToken;
+    this.openViewUrl = openViewUrl;
+  }
 
-  public BlockingSlackClient(Config config) {this.config = config;}
+  /**
+   * @return a client posting webhook messages to the given URL, sharing the HTTP clients with this one
+   */
+  public BlockingSlackClient withWebhook(String webhook) {
+    return new BlockingSlackClient(webhookSlack, webApiSlack, webhook, botOauthToken, openViewUrl);
+  }
+
+  private static Slack slack(OkHttpClient okHttpClient) {
+    return Slack.getInstance(SlackConfig.DEFAULT, new SlackHttpClient(okHttpClient));
+  }
 
   @Override
   public CompletionStage<SlackResponse> postNewCfp(CallForPaperView callForPaperView) {
@@ -71,20 +106,39 @@ public class BlockingSlackClient implements SlackClient {
     )));
 
     Payload payload = payload(p -> p.blocks(List.of(newCfp)).unfurlLinks(true).unfurlMedia(true));
-    try {
-      WebhookResponse response = slack.send(config.getString("cfp.notifier.webhook"), payload);
-      return CompletableFuture.completedFuture(new SlackResponse.Response(response.getCode(), response.getMessage() + "-" + response.getBody()));
-    } catch (IOException e) {
-      return CompletableFuture.completedFuture(new SlackResponse.Failure(500, "Unexpected exception", e));
-    }
+    return sendWebhook(payload);
   }
 
-  public String getCfpsListPayload(List<CallForPaperView> openCallForPapers) {
-    Payload payload = cfpsListPayload(openCallForPapers);
-    return gson.toJson(payload);
+  @Override
+  public byte[] getCfpsListPayload(List<CallForPaperView> openCallForPapers) {
+    return CfpsListPayloadWriter.write(openCallForPapers);
   }
 
-  private static Payload cfpsListPayload(List<CallForPaperView> openCallForPapers) {
+  @Override
+  public byte[] getCfpOptionsPayload(List<CallForPaperView> callForPaperViews) {
+    return gson.toJson(cfpOptions(callForPaperViews)).getBytes(StandardCharsets.UTF_8);
+  }
+
+  static Options cfpOptions(List<CallForPaperView> callForPaperViews) {
+    return new Options(callForPaperViews.stream()
+      .map(cfp -> OptionObject.builder()
+        .text(plainText(optionText(cfp.conferenceName() + " " + cfp.deadline())))
+        .value(cfp.id())
+        .build())
+      .toList());
+  }
+
+  /**
+   * Slack rejects option texts longer than 75 characters.
+   */
+  private static String optionText(String text) {
+    return text.length() <= MAX_OPTION_TEXT_LENGTH ? text : text.substring(0, MAX_OPTION_TEXT_LENGTH - 1) + "\u2026";
+  }
+
+  record Options(List<OptionObject> options) {
+  }
+
+  static Payload cfpsListPayload(List<CallForPaperView> openCallForPapers) {
     RichTextElement header = Text.builder().text("Open call for papers:").build();
     List<RichTextElement> openCfps = openCallForPapers.stream().map(cfp -> {
       var link = Link.builder().text(cfp.conferenceName()).url(cfp.conferenceLink()).build();
@@ -101,8 +155,19 @@ public class BlockingSlackClient implements SlackClient {
   }
 
   @Override
-  public CompletionStage<SlackResponse> openCfpsToDelete(List<CallForPaperView> openCallForPapers, String triggerId, String callbackId, String cfpIdField) {
+  public CompletionStage<SlackResponse> openCfpsToDelete(String triggerId, String callbackId, String cfpIdField) {
+    Modal obj = deleteCfpModal(triggerId, callbackId, cfpIdField);
+
+    String jsonString = gson.toJson(obj);
+
+    return postJsonBody(openViewUrl, jsonString);
+  }
 
+  /**
+   * The options are loaded by Slack from the options load URL of the app ({@code /api/cfp/options}) as the user types,
+   * so the modal has the same size regardless of the number of open cfps.
+   */
+  static Modal deleteCfpModal(String triggerId, String callbackId, String cfpIdField) {
     View modalView = view(v -> v
       .type("modal")
       .title(viewTitle(t -> t.type("plain_text").text("Delete call for papers")))
@@ -113,28 +178,18 @@ public class BlockingSlackClient implements SlackClient {
         section(s -> s
           .text(plainText("Select a call for papers to delete"))
           .blockId(cfpIdField)
-          .accessory(staticSelect(ss -> ss.actionId(cfpIdField)
-            .placeholder(plainText("Select cfp"))
-            .options(openCallForPapers.stream().map(cfp ->
-                OptionObject.builder()
-                  .text(PlainTextObject.builder().text(cfp.conferenceName() + " " + cfp.deadline()).build())
-                  .value(cfp.id()).build())
-              .collect(Collectors.toList()))
+          .accessory(externalSelect(es -> es.actionId(cfpIdField)
+            .placeholder(plainText("Type a conference name"))
+            .minQueryLength(0)
           ))))));
 
-    Modal obj = new Modal(triggerId, modalView);
-
-    String jsonString = gson.toJson(obj);
-
-    return postJsonBody(openViewUrl, jsonString);
+    return new Modal(triggerId, modalView);
   }
 
   private CompletableFuture<SlackResponse> postJsonBody(String url, String jsonString) {
-//    logger.debug("Posting json body to slack: {}, token {}", url, config.getString("cfp.notifier.bot-oauth-token"));
-    try (Response response = slack.getHttpClient().postCamelCaseJsonBodyWithBearerHeader(url,
-      config.getString("cfp.notifier.bot-oauth-token"),
-      jsonString)) {
-      return CompletableFuture.completedFuture(new SlackResponse.Response(response.code(), response.message() + "-" + response.body()));
+    recordPayloadSize(jsonString);
+    try (Response response = webApiSlack.getHttpClient().postCamelCaseJsonBodyWithBearerHeader(url, botOauthToken, jsonString)) {
+      return CompletableFuture.completedFuture(new SlackResponse.Response(response.code(), response.message() + "-" + response.body(), retryAfter(response.header("Retry-After"))));
     } catch (IOException exception) {
       return CompletableFuture.completedFuture(new SlackResponse.Failure(500, "Unexpected exception", exception));
     }
@@ -173,6 +228,10 @@ public class BlockingSlackClient implements SlackClient {
 
   @Override
   public CompletionStage<SlackResponse> notifyAboutOpenCfp(CallForPaperReminder reminder) {
+    return sendWebhook(cfpReminderPayload(reminder));
+  }
+
+  static Payload cfpReminderPayload(CallForPaperReminder reminder) {
     RichTextElement emoji = Emoji.builder().name("mega").build();
     RichTextElement info = Text.builder().text(" " + reminder.conferenceName() + " conference call for papers ends within " + reminder.howManyDaysLeft() + " days (" + reminder.deadline() + "). Remember to submit your talk at ").build();
     RichTextElement link = Link.builder().url(reminder.conferenceLink()).build();
@@ -181,15 +240,64 @@ public class BlockingSlackClient implements SlackClient {
       richTextSection(s -> s.elements(asRichTextElements(emoji, info, link)))
     )));
 
-    Payload payload = payload(p -> p.blocks(List.of(cfpReminder)).unfurlLinks(false).unfurlMedia(false));
+    return payload(p -> p.blocks(List.of(cfpReminder)).unfurlLinks(false).unfurlMedia(false));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> notifyAboutOpenCfps(List<CallForPaperReminder> reminders) {
+    if (reminders.size() == 1) {
+      return notifyAboutOpenCfp(reminders.getFirst());
+    }
+    return sendWebhook(cfpRemindersDigestPayload(reminders));
+  }
+
+  static Payload cfpRemindersDigestPayload(List<CallForPaperReminder> reminders) {
+    RichTextElement emoji = Emoji.builder().name("mega").build();
+    RichTextElement header = Text.builder().text(" Call for papers ending soon. Remember to submit your talks:").build();
+    List<RichTextElement> cfpReminders = reminders.stream().map(reminder -> {
+      var link = Link.builder().text(reminder.conferenceName()).url(reminder.conferenceLink()).build();
+      var info = Text.builder().text(" ends within " + reminder.howManyDaysLeft() + " days (" + reminder.deadline() + ")").build();
+      return richTextSection(s -> s.elements(asRichTextElements(link, info)));
+    }).collect(Collectors.toList());
+
+    LayoutBlock digest = richText(b -> b.elements(asElements(
+      richTextSection(s -> s.elements(asRichTextElements(emoji, header))),
+      richTextList(l -> l.elements(cfpReminders).style("bullet"))
+    )));
+
+    return payload(p -> p.blocks(List.of(digest)).unfurlLinks(false).unfurlMedia(false));
+  }
+
+
+  private CompletableFuture<SlackResponse> sendWebhook(Payload payload) {
     try {
-      WebhookResponse response = slack.send(config.getString("cfp.notifier.webhook"), payload);
-      return CompletableFuture.completedFuture(new SlackResponse.Response(response.getCode(), response.getMessage() + "-" + response.getBody()));
+      String jsonString = gson.toJson(payload);
+      recordPayloadSize(jsonString);
+      WebhookResponse response = webhookSlack.send(webhook, jsonString);
+      String retryAfter = response.getHeaders().getOrDefault("retry-after", List.of()).stream().findFirst().orElse(null);
+      return CompletableFuture.completedFuture(new SlackResponse.Response(response.getCode(), response.getMessage() + "-" + response.getBody(), retryAfter(retryAfter)));
     } catch (IOException e) {
       return CompletableFuture.completedFuture(new SlackResponse.Failure(500, "Unexpected exception", e));
     }
   }
 
+  private static void recordPayloadSize(String jsonString) {
+    Span span = Span.current();
+    if (span.isRecording()) {
+      span.setAttribute("slack.payload.size", jsonString.getBytes(StandardCharsets.UTF_8).length);
+    }
+  }
+
+  private static Duration retryAfter(String header) {
+    if (header == null) {
+      return Duration.ZERO;
+    }
+    try {
+      return Duration.ofSeconds(Long.parseLong(header.trim()));
+    } catch (NumberFormatException e) {
+      return Duration.ZERO;
+    }
+  }
 
   private static PlainTextObject plainText(String text) {
     return PlainTextObject.builder().text(text).build();
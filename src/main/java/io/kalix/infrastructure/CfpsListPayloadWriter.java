@@ -0,0 +1,150 @@
+package io.kalix.infrastructure;
+
+import io.kalix.view.CallForPaperView;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes the open cfps list payload as UTF-8 JSON straight from the views, without building the Slack SDK block
+ * objects. The output is byte for byte the same as {@link BlockingSlackClient#cfpsListPayload} serialized with the
+ * Slack snake case Gson (HTML safe escaping, nulls skipped). The buffer is reused per thread, only the result is copied.
+ */
+final class CfpsListPayloadWriter {
+
+  private static final byte[] PREFIX = ascii("{\"blocks\":[{\"type\":\"rich_text\",\"elements\":[{\"type\":\"rich_text_section\",\"elements\":[{\"type\":\"text\",\"text\":\"Open call for papers:\"}]},{\"type\":\"rich_text_list\",\"elements\":[");
+  private static final byte[] SUFFIX = ascii("],\"style\":\"ordered\"}]}]}");
+  private static final byte[] SECTION_START = ascii("{\"type\":\"rich_text_section\",\"elements\":[{\"type\":\"link\"");
+  private static final byte[] URL_FIELD = ascii(",\"url\":");
+  private static final byte[] TEXT_FIELD = ascii(",\"text\":");
+  private static final byte[] DATE_START = ascii("},{\"type\":\"text\",\"text\":\" ends on ");
+  private static final byte[] SECTION_END = ascii("\"}]}");
+  private static final byte[] HEX = ascii("0123456789abcdef");
+  private static final int INITIAL_CAPACITY = 16 * 1024;
+
+  private static final ThreadLocal<CfpsListPayloadWriter> WRITERS = ThreadLocal.withInitial(CfpsListPayloadWriter::new);
+
+  private byte[] buffer = new byte[INITIAL_CAPACITY];
+  private int position;
+
+  private CfpsListPayloadWriter() {
+  }
+
+  static byte[] write(List<CallForPaperView> openCallForPapers) {
+    return WRITERS.get().writePayload(openCallForPapers);
+  }
+
+  private byte[] writePayload(List<CallForPaperView> openCallForPapers) {
+    position = 0;
+    write(PREFIX);
+    for (int i = 0; i < openCallForPapers.size(); i++) {
+      CallForPaperView cfp = openCallForPapers.get(i);
+      if (i > 0) {
+        writeByte(',');
+      }
+      write(SECTION_START);
+      if (cfp.conferenceLink() != null) {
+        write(URL_FIELD);
+        writeString(cfp.conferenceLink());
+      }
+      if (cfp.conferenceName() != null) {
+        write(TEXT_FIELD);
+        writeString(cfp.conferenceName());
+      }
+      write(DATE_START);
+      writeEscaped(String.valueOf(cfp.deadline()));
+      write(SECTION_END);
+    }
+    write(SUFFIX);
+    return Arrays.copyOf(buffer, position);
+  }
+
+  private void writeString(String value) {
+    writeByte('"');
+    writeEscaped(value);
+    writeByte('"');
+  }
+
+  /**
+   * Same escaping as Gson's JsonWriter with HTML safe mode.
+   */
+  private void writeEscaped(String value) {
+    ensureCapacity(value.length() * 6);
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        switch (c) {
+          case '"' -> writeAsciiUnchecked('\\', '"');
+          case '\\' -> writeAsciiUnchecked('\\', '\\');
+          case '\t' -> writeAsciiUnchecked('\\', 't');
+          case '\b' -> writeAsciiUnchecked('\\', 'b');
+          case '\n' -> writeAsciiUnchecked('\\', 'n');
+          case '\r' -> writeAsciiUnchecked('\\', 'r');
+          case '\f' -> writeAsciiUnchecked('\\', 'f');
+          case '<', '>', '&', '=', '\'' -> writeUnicodeEscape(c);
+          default -> {
+            if (c < 0x20) {
+              writeUnicodeEscape(c);
+            } else {
+              buffer[position++] = (byte) c;
+            }
+          }
+        }
+      } else if (c == 0x2028 || c == 0x2029) {
+        writeUnicodeEscape(c);
+      } else if (c < 0x800) {
+        buffer[position++] = (byte) (0xc0 | (c >> 6));
+        buffer[position++] = (byte) (0x80 | (c & 0x3f));
+      } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        buffer[position++] = (byte) (0xf0 | (codePoint >> 18));
+        buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+        buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+        buffer[position++] = (byte) (0x80 | (codePoint & 0x3f));
+      } else if (Character.isSurrogate(c)) {
+        // unpaired surrogate, encoded as '?' like String.getBytes(UTF_8)
+        buffer[position++] = '?';
+      } else {
+        buffer[position++] = (byte) (0xe0 | (c >> 12));
+        buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+        buffer[position++] = (byte) (0x80 | (c & 0x3f));
+      }
+    }
+  }
+
+  private void writeUnicodeEscape(char c) {
+    buffer[position++] = '\\';
+    buffer[position++] = 'u';
+    buffer[position++] = HEX[(c >> 12) & 0xf];
+    buffer[position++] = HEX[(c >> 8) & 0xf];
+    buffer[position++] = HEX[(c >> 4) & 0xf];
+    buffer[position++] = HEX[c & 0xf];
+  }
+
+  private void writeAsciiUnchecked(char first, char second) {
+    buffer[position++] = (byte) first;
+    buffer[position++] = (byte) second;
+  }
+
+  private void write(byte[] bytes) {
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, buffer, position, bytes.length);
+    position += bytes.length;
+  }
+
+  private void writeByte(char c) {
+    ensureCapacity(1);
+    buffer[position++] = (byte) c;
+  }
+
+  private void ensureCapacity(int additional) {
+    if (position + additional > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+    }
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+}
@@ -0,0 +1,74 @@
+package io.kalix.infrastructure;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Opens after {@code failureThreshold} consecutive failures and rejects calls for {@code resetTimeout}. Then a single
+ * trial call is let through (half-open), its outcome closes or opens the breaker again.
+ */
+class CircuitBreaker {
+
+  enum State {
+    CLOSED, HALF_OPEN, OPEN
+  }
+
+  private final int failureThreshold;
+  private final long resetTimeoutNanos;
+  private final LongSupplier nanoTime;
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private long openedAtNanos;
+
+  CircuitBreaker(CircuitBreakerSettings settings, LongSupplier nanoTime) {
+    this.failureThreshold = settings.failureThreshold();
+    this.resetTimeoutNanos = settings.resetTimeout().toNanos();
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * @return true if the call can be made, its outcome must be reported with {@link #onSuccess()} or {@link #onFailure()}
+   */
+  synchronized boolean tryAcquire() {
+    return switch (state) {
+      case CLOSED -> true;
+      case HALF_OPEN -> false;
+      case OPEN -> {
+        if (nanoTime.getAsLong() - openedAtNanos >= resetTimeoutNanos) {
+          state = State.HALF_OPEN;
+          yield true;
+        }
+        yield false;
+      }
+    };
+  }
+
+  synchronized void onSuccess() {
+    consecutiveFailures = 0;
+    state = State.CLOSED;
+  }
+
+  synchronized void onFailure() {
+    consecutiveFailures++;
+    if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+      state = State.OPEN;
+      openedAtNanos = nanoTime.getAsLong();
+    }
+  }
+
+  synchronized State state() {
+    return state;
+  }
+
+  /**
+   * @return time until calls are likely to be let through again, zero when the breaker is closed
+   */
+  synchronized Duration retryAfter() {
+    return switch (state) {
+      case CLOSED -> Duration.ZERO;
+      // the trial call can fail and open the breaker again
+      case HALF_OPEN -> Duration.ofNanos(resetTimeoutNanos);
+      case OPEN -> Duration.ofNanos(Math.max(0, resetTimeoutNanos - (nanoTime.getAsLong() - openedAtNanos)));
+    };
+  }
+}
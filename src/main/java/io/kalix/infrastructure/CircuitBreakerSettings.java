@@ -0,0 +1,15 @@
+package io.kalix.infrastructure;
+
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+
+public record CircuitBreakerSettings(int failureThreshold,
+                                     Duration resetTimeout) {
+
+  public static CircuitBreakerSettings of(Config config) {
+    return new CircuitBreakerSettings(
+      config.getInt("failure-threshold"),
+      config.getDuration("reset-timeout"));
+  }
+}
@@ -0,0 +1,131 @@
+package io.kalix.infrastructure;
+
+import io.kalix.application.SlackClient;
+import io.kalix.application.SlackResponse;
+import io.kalix.application.SlackUnavailableException;
+import io.kalix.domain.CallForPaperReminder;
+import io.kalix.view.CallForPaperView;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Fails fast with a 503 {@link SlackResponse.Failure} caused by {@link SlackUnavailableException} when Slack keeps
+ * failing. Webhooks and the Web API (views.open) have separate breakers, an outage of one doesn't block the other.
+ * Rate limited calls (429) don't count as failures, they are handled by the {@link SlackDispatcher}.
+ */
+public class CircuitBreakingSlackClient implements SlackClient {
+
+  private static final AttributeKey<String> ENDPOINT = AttributeKey.stringKey("endpoint");
+  private static final AttributeKey<String> CHANNEL = AttributeKey.stringKey("channel");
+
+  private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final SlackClient delegate;
+  private final CircuitBreaker webhookBreaker;
+  private final CircuitBreaker webApiBreaker;
+  private final LongCounter rejected;
+  private final Attributes webhook;
+  private final Attributes webApi;
+
+  public CircuitBreakingSlackClient(SlackClient delegate, CircuitBreakerSettings settings, Meter meter) {
+    this(delegate, settings, meter, SlackChannel.DEFAULT);
+  }
+
+  /**
+   * @param channel the channel the webhook calls go to, added to the metrics
+   */
+  public CircuitBreakingSlackClient(SlackClient delegate, CircuitBreakerSettings settings, Meter meter, String channel) {
+    this.delegate = delegate;
+    this.webhook = Attributes.of(ENDPOINT, "webhook", CHANNEL, channel);
+    this.webApi = Attributes.of(ENDPOINT, "web-api", CHANNEL, channel);
+    this.webhookBreaker = new CircuitBreaker(settings, System::nanoTime);
+    this.webApiBreaker = new CircuitBreaker(settings, System::nanoTime);
+
+    meter.gaugeBuilder("slack.circuit-breaker.state").ofLongs()
+      .setDescription("Slack circuit breaker state: 0 - closed, 1 - half-open, 2 - open")
+      .buildWithCallback(measurement -> {
+        measurement.record(webhookBreaker.state().ordinal(), webhook);
+        measurement.record(webApiBreaker.state().ordinal(), webApi);
+      });
+    this.rejected = meter.counterBuilder("slack.circuit-breaker.rejected")
+      .setDescription("Slack calls rejected because the circuit breaker was open")
+      .build();
+  }
+
+  @Override
+  public byte[] getCfpsListPayload(List<CallForPaperView> openCallForPapers) {
+    return delegate.getCfpsListPayload(openCallForPapers);
+  }
+
+  @Override
+  public byte[] getCfpOptionsPayload(List<CallForPaperView> callForPaperViews) {
+    return delegate.getCfpOptionsPayload(callForPaperViews);
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> postNewCfp(CallForPaperView callForPaperView) {
+    return call(webhookBreaker, webhook, () -> delegate.postNewCfp(callForPaperView));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> openCfpsToDelete(String triggerId, String callbackId, String cfpIdField) {
+    return call(webApiBreaker, webApi, () -> delegate.openCfpsToDelete(triggerId, callbackId, cfpIdField));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> openAddCfp(String triggerId, String callbackId, String conferenceNameField, String conferenceLinkField, String conferenceCfpDeadlineField) {
+    return call(webApiBreaker, webApi, () -> delegate.openAddCfp(triggerId, callbackId, conferenceNameField, conferenceLinkField, conferenceCfpDeadlineField));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> notifyAboutOpenCfp(CallForPaperReminder callForPaperReminder) {
+    return call(webhookBreaker, webhook, () -> delegate.notifyAboutOpenCfp(callForPaperReminder));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> notifyAboutOpenCfps(List<CallForPaperReminder> callForPaperReminders) {
+    return call(webhookBreaker, webhook, () -> delegate.notifyAboutOpenCfps(callForPaperReminders));
+  }
+
+  private CompletionStage<SlackResponse> call(CircuitBreaker breaker, Attributes endpoint, Supplier<CompletionStage<SlackResponse>> call) {
+    if (!breaker.tryAcquire()) {
+      rejected.add(1, endpoint);
+      var exception = new SlackUnavailableException("Slack " + endpoint.get(ENDPOINT) + " circuit breaker of channel " + endpoint.get(CHANNEL) + " is open", breaker.retryAfter());
+      return CompletableFuture.completedFuture(new SlackResponse.Failure(503, exception.getMessage(), exception));
+    }
+    CompletionStage<SlackResponse> response;
+    try {
+      response = call.get();
+    } catch (RuntimeException e) {
+      response = CompletableFuture.failedStage(e);
+    }
+    return response.whenComplete((slackResponse, throwable) -> {
+      CircuitBreaker.State before = breaker.state();
+      if (throwable != null || isFailure(slackResponse)) {
+        breaker.onFailure();
+      } else {
+        breaker.onSuccess();
+      }
+      CircuitBreaker.State after = breaker.state();
+      if (before != after) {
+        logger.warn("Slack {} circuit breaker of channel {} {} -> {}", endpoint.get(ENDPOINT), endpoint.get(CHANNEL), before, after);
+      }
+    });
+  }
+
+  private static boolean isFailure(SlackResponse slackResponse) {
+    return switch (slackResponse) {
+      case SlackResponse.Response response -> response.code() >= 500;
+      case SlackResponse.Failure failure -> true;
+    };
+  }
+}
@@ -0,0 +1,193 @@
+package io.kalix.infrastructure;
+
+import io.kalix.application.SlackClient;
+import io.kalix.application.SlackResponse;
+import io.kalix.application.SlackUnavailableException;
+import io.kalix.application.UndeliveredChannelsException;
+import io.kalix.domain.CallForPaperReminder;
+import io.kalix.view.CallForPaperView;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Sends announcements and reminders to every subscribed {@link SlackChannel} concurrently. Each channel has its own
+ * client (dispatcher, circuit breaker), so a slow or failing channel doesn't delay the others.
+ * <p>
+ * The call succeeds when every subscribed channel accepted the message. When all channels failed, the most
+ * recoverable failure is returned: a retryable one, then {@link SlackUnavailableException}, then a client error that
+ * would fail again, so a channel rejecting the message doesn't make callers drop it for the others. When only some channels failed, the failure carries an {@link UndeliveredChannelsException} with the
+ * failed channels, callers retry the message for them with {@link #toChannel(String)}.
+ * <p>
+ * Modal calls and the list payload don't depend on the channel, they go to the default channel's client.
+ */
+public class FanOutSlackClient implements SlackClient {
+
+  private static final AttributeKey<String> CHANNEL = AttributeKey.stringKey("channel");
+
+  public record Channel(SlackChannel subscription, SlackClient client) {
+  }
+
+  private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final List<Channel> channels;
+  private final SlackClient defaultClient;
+  private final LongCounter failed;
+
+  public FanOutSlackClient(List<Channel> channels, Meter meter) {
+    this(channels,
+      channels.stream()
+        .filter(channel -> channel.subscription().name().equals(SlackChannel.DEFAULT))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Missing default Slack channel"))
+        .client(),
+      meter.counterBuilder("slack.fanout.failed")
+        .setDescription("Messages not delivered to a channel")
+        .build());
+  }
+
+  private FanOutSlackClient(List<Channel> channels, SlackClient defaultClient, LongCounter failed) {
+    this.channels = channels;
+    this.defaultClient = defaultClient;
+    this.failed = failed;
+  }
+
+  /**
+   * The channel subscription still applies, a message the channel is not subscribed to is not sent.
+   */
+  @Override
+  public SlackClient toChannel(String channel) {
+    List<Channel> selected = channels.stream()
+      .filter(candidate -> candidate.subscription().name().equals(channel))
+      .toList();
+    if (selected.isEmpty()) {
+      logger.warn("Unknown Slack channel {}, messages for it are dropped", channel);
+    }
+    return new FanOutSlackClient(selected, defaultClient, failed);
+  }
+
+  @Override
+  public byte[] getCfpsListPayload(List<CallForPaperView> openCallForPapers) {
+    return defaultClient.getCfpsListPayload(openCallForPapers);
+  }
+
+  @Override
+  public byte[] getCfpOptionsPayload(List<CallForPaperView> callForPaperViews) {
+    return defaultClient.getCfpOptionsPayload(callForPaperViews);
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> postNewCfp(CallForPaperView callForPaperView) {
+    return fanOut("new cfp " + callForPaperView.id(), channel ->
+      channel.subscription().matches(callForPaperView.conferenceName(), callForPaperView.conferenceLink())
+        ? channel.client().postNewCfp(callForPaperView)
+        : null);
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> openCfpsToDelete(String triggerId, String callbackId, String cfpIdField) {
+    return defaultClient.openCfpsToDelete(triggerId, callbackId, cfpIdField);
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> openAddCfp(String triggerId, String callbackId, String conferenceNameField, String conferenceLinkField, String conferenceCfpDeadlineField) {
+    return defaultClient.openAddCfp(triggerId, callbackId, conferenceNameField, conferenceLinkField, conferenceCfpDeadlineField);
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> notifyAboutOpenCfp(CallForPaperReminder callForPaperReminder) {
+    return fanOut("reminder " + callForPaperReminder.id(), channel ->
+      channel.subscription().matches(callForPaperReminder.conferenceName(), callForPaperReminder.conferenceLink())
+        ? channel.client().notifyAboutOpenCfp(callForPaperReminder)
+        : null);
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> notifyAboutOpenCfps(List<CallForPaperReminder> callForPaperReminders) {
+    return fanOut("digest of " + callForPaperReminders.size() + " reminders", channel -> {
+      List<CallForPaperReminder> subscribed = callForPaperReminders.stream()
+        .filter(reminder -> channel.subscription().matches(reminder.conferenceName(), reminder.conferenceLink()))
+        .toList();
+      return subscribed.isEmpty() ? null : channel.client().notifyAboutOpenCfps(subscribed);
+    });
+  }
+
+  private static int code(SlackResponse response) {
+    return switch (response) {
+      case SlackResponse.Response res -> res.code();
+      case SlackResponse.Failure failure -> failure.code();
+    };
+  }
+
+  /**
+   * @return 0 for a failure worth retrying, 1 for an open circuit, 2 for a client error other than 429
+   */
+  private static int rank(SlackResponse failure) {
+    if (SlackUnavailableException.isCause(failure)) {
+      return 1;
+    }
+    int code = code(failure);
+    return code >= 400 && code < 500 && code != 429 ? 2 : 0;
+  }
+
+  /**
+   * @param send the call for the channel, null if the channel is not subscribed to the message
+   */
+  private CompletionStage<SlackResponse> fanOut(String what, Function<Channel, CompletionStage<SlackResponse>> send) {
+    List<String> names = new ArrayList<>(channels.size());
+    List<CompletableFuture<SlackResponse>> responses = new ArrayList<>(channels.size());
+    for (Channel channel : channels) {
+      CompletionStage<SlackResponse> response;
+      try {
+        response = send.apply(channel);
+      } catch (RuntimeException e) {
+        response = CompletableFuture.failedStage(e);
+      }
+      if (response != null) {
+        names.add(channel.subscription().name());
+        responses.add(response.toCompletableFuture()
+          .exceptionally(throwable -> new SlackResponse.Failure(500, "Unexpected exception", throwable)));
+      }
+    }
+    if (responses.isEmpty()) {
+      return CompletableFuture.completedFuture(new SlackResponse.Response(200, "No subscribed channels"));
+    }
+    return CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[0])).thenApply(__ -> {
+      SlackResponse accepted = null;
+      SlackResponse failure = null;
+      Map<String, SlackResponse> failures = new LinkedHashMap<>();
+      for (int i = 0; i < responses.size(); i++) {
+        SlackResponse response = responses.get(i).join();
+        if (response instanceof SlackResponse.Response res && res.code() == 200) {
+          accepted = accepted == null ? response : accepted;
+        } else {
+          logger.warn("Failed to send {} to channel {}: {}", what, names.get(i), response);
+          failed.add(1, Attributes.of(CHANNEL, names.get(i)));
+          failures.put(names.get(i), response);
+          if (failure == null || rank(response) < rank(failure)) {
+            failure = response;
+          }
+        }
+      }
+      if (failure == null) {
+        return accepted;
+      } else if (accepted == null) {
+        return failure;
+      } else {
+        String message = "Failed to send " + what + " to channels " + failures.keySet();
+        return new SlackResponse.Failure(code(failure), message, new UndeliveredChannelsException(message, failures));
+      }
+    });
+  }
+}
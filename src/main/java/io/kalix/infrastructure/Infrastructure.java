@@ -1,10 +1,23 @@
 package io.kalix.infrastructure;
 
+import com.typesafe.config.Config;
+import io.kalix.application.NotificationPlan;
+import io.kalix.application.SlackClient;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.exporter.otlp.metrics.OtlpGrpcMetricExporter;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
+import io.opentelemetry.sdk.resources.Resource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
 import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiFunction;
 
 @Configuration
 @Profile("production")
@@ -14,4 +27,62 @@ public class Infrastructure {
   public Clock clock() {
     return Clock.systemUTC();
   }
+
+  @Bean
+  public NotificationPlan notificationPlan(Config config, Clock clock) {
+    return NotificationPlan.from(config, clock);
+  }
+
+  /**
+   * Exports metrics via OTLP when {@code cfp.notifier.metrics.otlp-endpoint} is set, otherwise falls back to the
+   * global (by default no-op) provider.
+   */
+  @Bean
+  public MeterProvider meterProvider(Config config) {
+    String endpoint = config.getString("cfp.notifier.metrics.otlp-endpoint");
+    if (endpoint.isEmpty()) {
+      return GlobalOpenTelemetry.getMeterProvider();
+    }
+    var exporter = OtlpGrpcMetricExporter.builder().setEndpoint(endpoint).build();
+    return SdkMeterProvider.builder()
+      .setResource(Resource.getDefault().toBuilder().put("service.name", "cfp-notifier").build())
+      .registerMetricReader(PeriodicMetricReader.builder(exporter)
+        .setInterval(config.getDuration("cfp.notifier.metrics.export-interval"))
+        .build())
+      .build();
+  }
+
+  @Bean
+  public Meter meter(MeterProvider meterProvider) {
+    return meterProvider.get("cfp-notifier");
+  }
+
+  @Bean
+  @Profile("!async-slack")
+  public SlackClient slackClient(Config config, Meter meter) {
+    return fanOut(config, meter, (channel, slackClient) -> new MeteredSlackClient(slackClient, meter, channel.name()));
+  }
+
+  @Bean
+  @Profile("async-slack")
+  public SlackClient asyncSlackClient(Config config, Meter meter) {
+    var inFlight = new Semaphore(config.getInt("cfp.notifier.async-slack.max-in-flight"));
+    var acquireTimeout = config.getDuration("cfp.notifier.async-slack.acquire-timeout");
+    return fanOut(config, meter, (channel, slackClient) -> new VirtualThreadSlackClient(
+      new MeteredSlackClient(slackClient, meter, channel.name()), inFlight, acquireTimeout));
+  }
+
+  /**
+   * A dispatcher and a circuit breaker per channel, the HTTP clients are shared.
+   */
+  private static SlackClient fanOut(Config config, Meter meter, BiFunction<SlackChannel, SlackClient, SlackClient> transport) {
+    var blockingSlackClient = new BlockingSlackClient(config);
+    var circuitBreakerSettings = CircuitBreakerSettings.of(config.getConfig("cfp.notifier.circuit-breaker"));
+    List<FanOutSlackClient.Channel> channels = SlackChannel.all(config).stream().map(channel -> {
+      var circuitBreaking = new CircuitBreakingSlackClient(
+        transport.apply(channel, blockingSlackClient.withWebhook(channel.webhook())), circuitBreakerSettings, meter, channel.name());
+      return new FanOutSlackClient.Channel(channel, new SlackDispatcher(circuitBreaking, channel.dispatcher(), meter, channel.name()));
+    }).toList();
+    return new FanOutSlackClient(channels, meter);
+  }
 }
@@ -0,0 +1,107 @@
+package io.kalix.infrastructure;
+
+import io.kalix.application.SlackClient;
+import io.kalix.application.SlackResponse;
+import io.kalix.domain.CallForPaperReminder;
+import io.kalix.view.CallForPaperView;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Latency and errors of every Slack call. Wraps the client that talks to Slack, so each retry of the
+ * {@link SlackDispatcher} is measured separately.
+ */
+public class MeteredSlackClient implements SlackClient {
+
+  private static final AttributeKey<String> METHOD = AttributeKey.stringKey("method");
+  private static final AttributeKey<Long> STATUS = AttributeKey.longKey("status");
+  private static final AttributeKey<String> CHANNEL = AttributeKey.stringKey("channel");
+
+  private final SlackClient delegate;
+  private final DoubleHistogram duration;
+  private final LongCounter errors;
+  private final String channel;
+
+  public MeteredSlackClient(SlackClient delegate, Meter meter) {
+    this(delegate, meter, SlackChannel.DEFAULT);
+  }
+
+  /**
+   * @param channel the channel the webhook calls go to, added to the metrics
+   */
+  public MeteredSlackClient(SlackClient delegate, Meter meter, String channel) {
+    this.delegate = delegate;
+    this.channel = channel;
+    this.duration = meter.histogramBuilder("slack.client.duration")
+      .setDescription("Slack call latency")
+      .setUnit("ms")
+      .build();
+    this.errors = meter.counterBuilder("slack.client.errors")
+      .setDescription("Slack calls that failed or were answered with a non 200 status")
+      .build();
+  }
+
+  @Override
+  public byte[] getCfpsListPayload(List<CallForPaperView> openCallForPapers) {
+    long start = System.nanoTime();
+    byte[] payload = delegate.getCfpsListPayload(openCallForPapers);
+    duration.record((System.nanoTime() - start) / 1_000_000d, Attributes.of(METHOD, "getCfpsListPayload", CHANNEL, channel));
+    return payload;
+  }
+
+  @Override
+  public byte[] getCfpOptionsPayload(List<CallForPaperView> callForPaperViews) {
+    long start = System.nanoTime();
+    byte[] payload = delegate.getCfpOptionsPayload(callForPaperViews);
+    duration.record((System.nanoTime() - start) / 1_000_000d, Attributes.of(METHOD, "getCfpOptionsPayload", CHANNEL, channel));
+    return payload;
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> postNewCfp(CallForPaperView callForPaperView) {
+    return measure("postNewCfp", () -> delegate.postNewCfp(callForPaperView));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> openCfpsToDelete(String triggerId, String callbackId, String cfpIdField) {
+    return measure("openCfpsToDelete", () -> delegate.openCfpsToDelete(triggerId, callbackId, cfpIdField));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> openAddCfp(String triggerId, String callbackId, String conferenceNameField, String conferenceLinkField, String conferenceCfpDeadlineField) {
+    return measure("openAddCfp", () -> delegate.openAddCfp(triggerId, callbackId, conferenceNameField, conferenceLinkField, conferenceCfpDeadlineField));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> notifyAboutOpenCfp(CallForPaperReminder callForPaperReminder) {
+    return measure("notifyAboutOpenCfp", () -> delegate.notifyAboutOpenCfp(callForPaperReminder));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> notifyAboutOpenCfps(List<CallForPaperReminder> callForPaperReminders) {
+    return measure("notifyAboutOpenCfps", () -> delegate.notifyAboutOpenCfps(callForPaperReminders));
+  }
+
+  private CompletionStage<SlackResponse> measure(String method, Supplier<CompletionStage<SlackResponse>> call) {
+    long start = System.nanoTime();
+    return call.get().whenComplete((response, throwable) -> {
+      long status = switch (response) {
+        case null -> 500;
+        case SlackResponse.Response res -> res.code();
+        case SlackResponse.Failure failure -> failure.code();
+      };
+      Attributes attributes = Attributes.of(METHOD, method, STATUS, status, CHANNEL, channel);
+      duration.record((System.nanoTime() - start) / 1_000_000d, attributes);
+      if (throwable != null || status != 200) {
+        errors.add(1, attributes);
+      }
+    });
+  }
+}
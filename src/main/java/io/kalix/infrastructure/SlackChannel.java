@@ -0,0 +1,59 @@
+package io.kalix.infrastructure;
+
+import com.typesafe.config.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A Slack channel subscribed to announcements and reminders via its incoming webhook. A channel without keywords gets
+ * all cfps, otherwise only the ones with a keyword in the conference name or link (case insensitive).
+ *
+ * @param dispatcher slack-dispatcher settings of the channel, each channel is rate limited separately
+ */
+public record SlackChannel(String name, String webhook, List<String> keywords, SlackDispatcherSettings dispatcher) {
+
+  public static final String DEFAULT = "default";
+
+  public SlackChannel {
+    keywords = keywords.stream().map(keyword -> keyword.toLowerCase(Locale.ROOT)).toList();
+  }
+
+  /**
+   * The default channel ({@code cfp.notifier.webhook}) followed by the ones from {@code cfp.notifier.channels}.
+   */
+  public static List<SlackChannel> all(Config config) {
+    Config dispatcherConfig = config.getConfig("cfp.notifier.slack-dispatcher");
+    List<SlackChannel> channels = new ArrayList<>();
+    channels.add(new SlackChannel(DEFAULT, config.getString("cfp.notifier.webhook"), List.of(), SlackDispatcherSettings.of(dispatcherConfig)));
+    for (Config channel : config.getConfigList("cfp.notifier.channels")) {
+      String name = channel.getString("name");
+      if (channels.stream().anyMatch(c -> c.name().equals(name))) {
+        throw new IllegalArgumentException("Duplicated Slack channel: " + name);
+      }
+      channels.add(new SlackChannel(
+        name,
+        channel.getString("webhook"),
+        channel.hasPath("keywords") ? channel.getStringList("keywords") : List.of(),
+        SlackDispatcherSettings.of(channel.hasPath("slack-dispatcher")
+          ? channel.getConfig("slack-dispatcher").withFallback(dispatcherConfig)
+          : dispatcherConfig)));
+    }
+    return channels;
+  }
+
+  public boolean matches(String conferenceName, String conferenceLink) {
+    if (keywords.isEmpty()) {
+      return true;
+    }
+    String name = conferenceName == null ? "" : conferenceName.toLowerCase(Locale.ROOT);
+    String link = conferenceLink == null ? "" : conferenceLink.toLowerCase(Locale.ROOT);
+    for (String keyword : keywords) {
+      if (name.contains(keyword) || link.contains(keyword)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,210 @@
+package io.kalix.infrastructure;
+
+import io.kalix.application.SlackClient;
+import io.kalix.application.SlackResponse;
+import io.kalix.application.SlackUnavailableException;
+import io.kalix.domain.CallForPaperReminder;
+import io.kalix.view.CallForPaperView;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Smooths outbound webhook calls (new cfp announcements and reminders) with a token bucket and retries failed calls
+ * with exponential backoff, honoring Slack's Retry-After. When more than {@code queueCapacity} calls are waiting, new
+ * calls are rejected right away with a 503 {@link SlackResponse.Failure}.
+ * <p>
+ * Modal calls are passed through, the trigger id expires after 3 seconds, so there is no point in queueing them. New cfp
+ * announcements are posted while the Slack submission waits for the reply, they are queued and retried only within
+ * {@code announcementDeadline}, after that the call fails with a 503 {@link SlackResponse.Failure}.
+ * <p>
+ * Attempts run in the trace context of the caller, the number of retries is added to the current span.
+ */
+public class SlackDispatcher implements SlackClient {
+
+  private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private static final AttributeKey<String> CHANNEL = AttributeKey.stringKey("channel");
+  private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+  private final SlackClient delegate;
+  private final SlackDispatcherSettings settings;
+  private final Attributes attributes;
+  private final TokenBucket tokenBucket;
+  private final AtomicInteger queued = new AtomicInteger();
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "slack-dispatcher");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+  private final LongCounter rejected;
+  private final LongCounter retried;
+  private final LongCounter rateLimited;
+  private final LongCounter deadlineExceeded;
+  private final DoubleHistogram queueWait;
+
+  public SlackDispatcher(SlackClient delegate, SlackDispatcherSettings settings, Meter meter) {
+    this(delegate, settings, meter, SlackChannel.DEFAULT);
+  }
+
+  /**
+   * @param channel the channel the webhook calls go to, added to the metrics
+   */
+  public SlackDispatcher(SlackClient delegate, SlackDispatcherSettings settings, Meter meter, String channel) {
+    this.delegate = delegate;
+    this.settings = settings;
+    this.attributes = Attributes.of(CHANNEL, channel);
+    this.tokenBucket = new TokenBucket(settings.permitsPerSecond(), settings.burst(), System::nanoTime);
+
+    meter.gaugeBuilder("slack.dispatcher.queue.size").ofLongs()
+      .setDescription("Slack calls waiting for a token or a retry")
+      .buildWithCallback(measurement -> measurement.record(queued.get(), attributes));
+    this.rejected = meter.counterBuilder("slack.dispatcher.rejected")
+      .setDescription("Slack calls rejected because the queue was full")
+      .build();
+    this.retried = meter.counterBuilder("slack.dispatcher.retries")
+      .setDescription("Retried Slack calls")
+      .build();
+    this.rateLimited = meter.counterBuilder("slack.dispatcher.rate-limited")
+      .setDescription("Slack calls answered with 429 Too Many Requests")
+      .build();
+    this.deadlineExceeded = meter.counterBuilder("slack.dispatcher.deadline-exceeded")
+      .setDescription("Slack calls failed because they couldn't be sent within their deadline")
+      .build();
+    this.queueWait = meter.histogramBuilder("slack.dispatcher.queue.wait")
+      .setDescription("Time between enqueueing a Slack call and its first attempt")
+      .setUnit("ms")
+      .build();
+  }
+
+  @Override
+  public byte[] getCfpsListPayload(List<CallForPaperView> openCallForPapers) {
+    return delegate.getCfpsListPayload(openCallForPapers);
+  }
+
+  @Override
+  public byte[] getCfpOptionsPayload(List<CallForPaperView> callForPaperViews) {
+    return delegate.getCfpOptionsPayload(callForPaperViews);
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> postNewCfp(CallForPaperView callForPaperView) {
+    return dispatch(() -> delegate.postNewCfp(callForPaperView), System.nanoTime() + settings.announcementDeadline().toNanos());
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> openCfpsToDelete(String triggerId, String callbackId, String cfpIdField) {
+    return delegate.openCfpsToDelete(triggerId, callbackId, cfpIdField);
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> openAddCfp(String triggerId, String callbackId, String conferenceNameField, String conferenceLinkField, String conferenceCfpDeadlineField) {
+    return delegate.openAddCfp(triggerId, callbackId, conferenceNameField, conferenceLinkField, conferenceCfpDeadlineField);
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> notifyAboutOpenCfp(CallForPaperReminder callForPaperReminder) {
+    return dispatch(() -> delegate.notifyAboutOpenCfp(callForPaperReminder), NO_DEADLINE);
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> notifyAboutOpenCfps(List<CallForPaperReminder> callForPaperReminders) {
+    return dispatch(() -> delegate.notifyAboutOpenCfps(callForPaperReminders), NO_DEADLINE);
+  }
+
+  /**
+   * @param deadlineNanos in {@link System#nanoTime()}, no attempt is started after it
+   */
+  private CompletionStage<SlackResponse> dispatch(Supplier<CompletionStage<SlackResponse>> call, long deadlineNanos) {
+    if (queued.incrementAndGet() > settings.queueCapacity()) {
+      queued.decrementAndGet();
+      rejected.add(1, attributes);
+      logger.warn("Slack dispatcher queue of channel {} is full, rejecting call", attributes.get(CHANNEL));
+      return CompletableFuture.completedFuture(new SlackResponse.Failure(503, "Slack dispatcher queue is full", null));
+    }
+    var result = new CompletableFuture<SlackResponse>();
+    long enqueuedAt = System.nanoTime();
+    Context context = Context.current();
+    schedule(Duration.ZERO, deadlineNanos, result, () -> {
+      queueWait.record((System.nanoTime() - enqueuedAt) / 1_000_000d, attributes);
+      attempt(call, context, 0, deadlineNanos, result);
+    });
+    return result.whenComplete((__, ___) -> queued.decrementAndGet());
+  }
+
+  private void schedule(Duration delay, long deadlineNanos, CompletableFuture<SlackResponse> result, Runnable attempt) {
+    scheduler.schedule(() -> {
+      if (deadlineNanos == NO_DEADLINE) {
+        Duration wait = tokenBucket.reserve();
+        scheduler.schedule(() -> workers.execute(attempt), wait.toNanos(), TimeUnit.NANOSECONDS);
+      } else {
+        tokenBucket.tryReserve(Duration.ofNanos(deadlineNanos - System.nanoTime())).ifPresentOrElse(
+          wait -> scheduler.schedule(() -> workers.execute(attempt), wait.toNanos(), TimeUnit.NANOSECONDS),
+          () -> {
+            deadlineExceeded.add(1, attributes);
+            result.complete(new SlackResponse.Failure(503, "Slack call can't be sent within its deadline", null));
+          });
+      }
+    }, delay.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  private void attempt(Supplier<CompletionStage<SlackResponse>> call, Context context, int retry, long deadlineNanos, CompletableFuture<SlackResponse> result) {
+    CompletionStage<SlackResponse> response;
+    try (Scope __ = context.makeCurrent()) {
+      Span.current().setAttribute("slack.retry.count", retry);
+      response = call.get();
+    } catch (RuntimeException e) {
+      response = CompletableFuture.failedStage(e);
+    }
+    response.whenComplete((slackResponse, throwable) -> {
+      SlackResponse outcome = throwable != null ? new SlackResponse.Failure(500, "Unexpected exception", throwable) : slackResponse;
+      Duration backoff = shouldRetry(outcome) && retry < settings.maxRetries() ? backoff(outcome, retry) : null;
+      if (backoff != null && (deadlineNanos == NO_DEADLINE || System.nanoTime() + backoff.toNanos() - deadlineNanos < 0)) {
+        logger.warn("Slack call failed with {}, retry {} in {}", outcome, retry + 1, backoff);
+        retried.add(1, attributes);
+        schedule(backoff, deadlineNanos, result, () -> attempt(call, context, retry + 1, deadlineNanos, result));
+      } else {
+        result.complete(outcome);
+      }
+    });
+  }
+
+  private boolean shouldRetry(SlackResponse slackResponse) {
+    return switch (slackResponse) {
+      case SlackResponse.Response response -> response.code() == 429 || response.code() >= 500;
+      // the circuit breaker is open, retrying only holds a queue slot
+      case SlackResponse.Failure failure -> !(failure.exception() instanceof SlackUnavailableException);
+    };
+  }
+
+  private Duration backoff(SlackResponse slackResponse, int retry) {
+    Duration exponential = settings.initialBackoff().multipliedBy(1L << Math.min(retry, 30));
+    Duration backoff = exponential.compareTo(settings.maxBackoff()) > 0 ? settings.maxBackoff() : exponential;
+    if (slackResponse instanceof SlackResponse.Response response && response.code() == 429) {
+      rateLimited.add(1, attributes);
+      tokenBucket.pause(response.retryAfter());
+      return response.retryAfter().compareTo(backoff) > 0 ? response.retryAfter() : backoff;
+    }
+    return backoff;
+  }
+}
@@ -0,0 +1,29 @@
+package io.kalix.infrastructure;
+
+import com.typesafe.config.Config;
+
+import java.time.Duration;
+
+/**
+ * @param announcementDeadline new cfp announcements are posted while the Slack submission waits for the reply, they
+ *                             are neither queued nor retried past this deadline
+ */
+public record SlackDispatcherSettings(double permitsPerSecond,
+                                      int burst,
+                                      int queueCapacity,
+                                      int maxRetries,
+                                      Duration initialBackoff,
+                                      Duration maxBackoff,
+                                      Duration announcementDeadline) {
+
+  public static SlackDispatcherSettings of(Config config) {
+    return new SlackDispatcherSettings(
+      config.getDouble("permits-per-second"),
+      config.getInt("burst"),
+      config.getInt("queue-capacity"),
+      config.getInt("max-retries"),
+      config.getDuration("initial-backoff"),
+      config.getDuration("max-backoff"),
+      config.getDuration("announcement-deadline"));
+  }
+}
@@ -0,0 +1,58 @@
+package io.kalix.infrastructure;
+
+import com.typesafe.config.Config;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OkHttp settings for the Slack calls, from {@code cfp.notifier.http}. Webhooks and the Web API get their own clients,
+ * with separate timeouts, sharing a single connection pool.
+ */
+public record SlackHttpSettings(int maxIdleConnections,
+                                Duration keepAlive,
+                                boolean http2,
+                                Duration connectTimeout,
+                                Endpoint webhook,
+                                Endpoint webApi) {
+
+  public record Endpoint(Duration readTimeout, Duration writeTimeout, Duration callTimeout) {
+
+    static Endpoint of(Config config) {
+      return new Endpoint(
+        config.getDuration("read-timeout"),
+        config.getDuration("write-timeout"),
+        config.getDuration("call-timeout"));
+    }
+  }
+
+  public static SlackHttpSettings of(Config config) {
+    return new SlackHttpSettings(
+      config.getInt("connection-pool.max-idle-connections"),
+      config.getDuration("connection-pool.keep-alive"),
+      config.getBoolean("http2"),
+      config.getDuration("connect-timeout"),
+      Endpoint.of(config.getConfig("webhook")),
+      Endpoint.of(config.getConfig("web-api")));
+  }
+
+  OkHttpClient baseClient() {
+    return new OkHttpClient.Builder()
+      .connectionPool(new ConnectionPool(maxIdleConnections, keepAlive.toMillis(), TimeUnit.MILLISECONDS))
+      .protocols(http2 ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1))
+      .connectTimeout(connectTimeout)
+      .build();
+  }
+
+  static OkHttpClient endpointClient(OkHttpClient baseClient, Endpoint endpoint) {
+    return baseClient.newBuilder()
+      .readTimeout(endpoint.readTimeout())
+      .writeTimeout(endpoint.writeTimeout())
+      .callTimeout(endpoint.callTimeout())
+      .build();
+  }
+}
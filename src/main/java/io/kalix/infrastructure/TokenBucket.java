@@ -0,0 +1,53 @@
+package io.kalix.infrastructure;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter that doesn't block. {@link #reserve()} takes a token and returns how long the caller has
+ * to wait before using it.
+ */
+class TokenBucket {
+
+  private final long intervalNanos;
+  private final long burstNanos;
+  private final LongSupplier nanoTime;
+  private long nextFreeNanos;
+
+  TokenBucket(double permitsPerSecond, int burst, LongSupplier nanoTime) {
+    this.intervalNanos = (long) (Duration.ofSeconds(1).toNanos() / permitsPerSecond);
+    this.burstNanos = (burst - 1) * intervalNanos;
+    this.nanoTime = nanoTime;
+    this.nextFreeNanos = nanoTime.getAsLong() - burstNanos;
+  }
+
+  synchronized Duration reserve() {
+    long now = nanoTime.getAsLong();
+    long start = Math.max(nextFreeNanos, now - burstNanos);
+    nextFreeNanos = start + intervalNanos;
+    return Duration.ofNanos(Math.max(0, start - now));
+  }
+
+  /**
+   * Takes a token only if it can be used within {@code maxWait}.
+   *
+   * @return how long the caller has to wait before using the token, empty when no token was taken
+   */
+  synchronized Optional<Duration> tryReserve(Duration maxWait) {
+    long now = nanoTime.getAsLong();
+    long start = Math.max(nextFreeNanos, now - burstNanos);
+    if (start - now > maxWait.toNanos()) {
+      return Optional.empty();
+    }
+    nextFreeNanos = start + intervalNanos;
+    return Optional.of(Duration.ofNanos(Math.max(0, start - now)));
+  }
+
+  /**
+   * No tokens are handed out for the given duration, e.g. when Slack responded with a Retry-After header.
+   */
+  synchronized void pause(Duration duration) {
+    nextFreeNanos = Math.max(nextFreeNanos, nanoTime.getAsLong() + duration.toNanos());
+  }
+}
@@ -0,0 +1,95 @@
+package io.kalix.infrastructure;
+
+import io.kalix.application.SlackClient;
+import io.kalix.application.SlackResponse;
+import io.kalix.domain.CallForPaperReminder;
+import io.kalix.view.CallForPaperView;
+import io.opentelemetry.context.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the blocking Slack calls of the delegate on virtual threads, so the Kalix action dispatcher is released
+ * immediately. The number of concurrent Slack calls is bounded by the {@code inFlight} permits, which are shared by
+ * the clients of all channels, a call that can't get a permit within {@code acquireTimeout} is rejected with a 503
+ * {@link SlackResponse.Failure}.
+ */
+public class VirtualThreadSlackClient implements SlackClient {
+
+  private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final SlackClient delegate;
+  private final Semaphore inFlight;
+  private final Duration acquireTimeout;
+  private final ExecutorService executor = Context.taskWrapping(Executors.newVirtualThreadPerTaskExecutor());
+
+  public VirtualThreadSlackClient(SlackClient delegate, Semaphore inFlight, Duration acquireTimeout) {
+    this.delegate = delegate;
+    this.inFlight = inFlight;
+    this.acquireTimeout = acquireTimeout;
+  }
+
+  @Override
+  public byte[] getCfpsListPayload(List<CallForPaperView> openCallForPapers) {
+    return delegate.getCfpsListPayload(openCallForPapers);
+  }
+
+  @Override
+  public byte[] getCfpOptionsPayload(List<CallForPaperView> callForPaperViews) {
+    return delegate.getCfpOptionsPayload(callForPaperViews);
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> postNewCfp(CallForPaperView callForPaperView) {
+    return runAsync(() -> delegate.postNewCfp(callForPaperView));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> openCfpsToDelete(String triggerId, String callbackId, String cfpIdField) {
+    return runAsync(() -> delegate.openCfpsToDelete(triggerId, callbackId, cfpIdField));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> openAddCfp(String triggerId, String callbackId, String conferenceNameField, String conferenceLinkField, String conferenceCfpDeadlineField) {
+    return runAsync(() -> delegate.openAddCfp(triggerId, callbackId, conferenceNameField, conferenceLinkField, conferenceCfpDeadlineField));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> notifyAboutOpenCfp(CallForPaperReminder callForPaperReminder) {
+    return runAsync(() -> delegate.notifyAboutOpenCfp(callForPaperReminder));
+  }
+
+  @Override
+  public CompletionStage<SlackResponse> notifyAboutOpenCfps(List<CallForPaperReminder> callForPaperReminders) {
+    return runAsync(() -> delegate.notifyAboutOpenCfps(callForPaperReminders));
+  }
+
+  private CompletionStage<SlackResponse> runAsync(Supplier<CompletionStage<SlackResponse>> call) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        if (!inFlight.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+          logger.warn("Too many in-flight Slack requests, rejecting call");
+          return new SlackResponse.Failure(503, "Too many in-flight Slack requests", null);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return new SlackResponse.Failure(503, "Interrupted while waiting for Slack request permit", e);
+      }
+      try {
+        return call.get().toCompletableFuture().join();
+      } finally {
+        inFlight.release();
+      }
+    }, executor);
+  }
+}
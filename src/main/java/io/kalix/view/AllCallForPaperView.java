@@ -10,6 +10,7 @@ import kalix.javasdk.annotations.ViewId;
 import kalix.javasdk.view.View;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Flux;
 
 
 @Table("cfp_all")
@@ -37,4 +38,34 @@ public class AllCallForPaperView extends View<CallForPaperView> {
   public CallForPaperList getOpenCallForPapers(@RequestParam long nowEpochDays) {
     return null;
   }
+
+  @GetMapping("/cfps/stream")
+  @Query("SELECT * FROM cfp_all ORDER BY deadlineInEpochDays ASC, id ASC")
+  public Flux<CallForPaperView> streamCallForPapers() {
+    return null;
+  }
+
+  /**
+   * Keyset pagination, pass the deadline and id of the last cfp from the previous page, see {@link PageToken}.
+   */
+  @GetMapping("/cfps-page")
+  @Query("SELECT * as callForPaperViews, has_more() as hasMore FROM cfp_all " +
+    "WHERE deadlineInEpochDays > :afterDeadlineInEpochDays OR (deadlineInEpochDays = :afterDeadlineInEpochDays AND id > :afterId) " +
+    "ORDER BY deadlineInEpochDays ASC, id ASC LIMIT :pageSize")
+  public CallForPaperPage getCallForPapersPage(@RequestParam long afterDeadlineInEpochDays, @RequestParam String afterId, @RequestParam int pageSize) {
+    return null;
+  }
+
+  @GetMapping("/expired-cfps")
+  @Query("SELECT * as callForPaperViews, has_more() as hasMore FROM cfp_all " +
+    "WHERE deadlineInEpochDays < :beforeEpochDays ORDER BY deadlineInEpochDays ASC, id ASC LIMIT :pageSize")
+  public CallForPaperPage getExpiredCallForPapers(@RequestParam long beforeEpochDays, @RequestParam int pageSize) {
+    return null;
+  }
+
+  @GetMapping("/cfps-by-deadline")
+  @Query("SELECT * as callForPaperViews FROM cfp_all WHERE deadlineInEpochDays = :deadlineInEpochDays")
+  public CallForPaperList getCallForPapersByDeadline(@RequestParam long deadlineInEpochDays) {
+    return null;
+  }
 }
@@ -0,0 +1,16 @@
+package io.kalix.view;
+
+import io.kalix.domain.ArchivedCallForPaper;
+
+import java.time.Instant;
+
+/**
+ * Views can't store a {@code LocalDate}, the deadline is kept as text and as epoch days for sorting, like in
+ * {@link CallForPaperView}.
+ */
+public record ArchivedCallForPaperRow(String id, String conferenceName, String deadline, long deadlineInEpochDays, String conferenceLink, Instant archivedAt) {
+
+  public static ArchivedCallForPaperRow of(ArchivedCallForPaper archivedCallForPaper) {
+    return new ArchivedCallForPaperRow(archivedCallForPaper.id(), archivedCallForPaper.conferenceName(), archivedCallForPaper.deadline().toString(), archivedCallForPaper.deadline().toEpochDay(), archivedCallForPaper.conferenceLink(), archivedCallForPaper.archivedAt());
+  }
+}
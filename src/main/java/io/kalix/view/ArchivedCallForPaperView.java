@@ -0,0 +1,30 @@
+package io.kalix.view;
+
+import io.kalix.application.ArchivedCallForPaperEntity;
+import io.kalix.domain.ArchivedCallForPaper;
+import kalix.javasdk.annotations.Query;
+import kalix.javasdk.annotations.Subscribe;
+import kalix.javasdk.annotations.Table;
+import kalix.javasdk.annotations.ViewId;
+import kalix.javasdk.view.View;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import java.util.List;
+
+@Table("cfp_archive")
+@ViewId("cfp-archive")
+public class ArchivedCallForPaperView extends View<ArchivedCallForPaperRow> {
+
+  public record ArchivedCallForPaperList(List<ArchivedCallForPaperRow> archivedCallForPapers) {}
+
+  @Subscribe.ValueEntity(ArchivedCallForPaperEntity.class)
+  public UpdateEffect<ArchivedCallForPaperRow> onChange(ArchivedCallForPaper archivedCallForPaper) {
+    return effects().updateState(ArchivedCallForPaperRow.of(archivedCallForPaper));
+  }
+
+  @GetMapping("/archived-cfps")
+  @Query("SELECT * as archivedCallForPapers FROM cfp_archive ORDER BY deadlineInEpochDays DESC")
+  public ArchivedCallForPaperList getArchivedCallForPapers() {
+    return null;
+  }
+}
@@ -0,0 +1,20 @@
+package io.kalix.view;
+
+import java.util.List;
+
+/**
+ * A page of cfps ordered by (deadlineInEpochDays, id).
+ */
+public record CallForPaperPage(List<CallForPaperView> callForPaperViews, boolean hasMore) {
+
+  /**
+   * @return token of the page after this one, null when this is the last page
+   */
+  public PageToken nextPageToken() {
+    if (!hasMore || callForPaperViews.isEmpty()) {
+      return null;
+    }
+    CallForPaperView last = callForPaperViews.getLast();
+    return new PageToken(last.deadlineInEpochDays(), last.id());
+  }
+}
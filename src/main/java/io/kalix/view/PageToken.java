@@ -0,0 +1,29 @@
+package io.kalix.view;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position, the page starts right after the cfp with the given deadline and id.
+ */
+public record PageToken(long afterDeadlineInEpochDays, String afterId) {
+
+  public static final PageToken FIRST = new PageToken(Long.MIN_VALUE, "");
+
+  public static PageToken parse(String token) {
+    if (token == null || token.isEmpty()) {
+      return FIRST;
+    }
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = decoded.indexOf(':');
+      return new PageToken(Long.parseLong(decoded.substring(0, separator)), decoded.substring(separator + 1));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Invalid page token: " + token, e);
+    }
+  }
+
+  public String encode() {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString((afterDeadlineInEpochDays + ":" + afterId).getBytes(StandardCharsets.UTF_8));
+  }
+}
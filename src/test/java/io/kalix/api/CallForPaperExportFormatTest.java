@@ -0,0 +1,39 @@
+package io.kalix.api;
+
+import io.kalix.view.CallForPaperView;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CallForPaperExportFormatTest {
+
+  List<CallForPaperView> callForPapers = List.of(
+    new CallForPaperView("1", "Scalar", "2024-03-25", 19807, "https://www.scalar-conf.com/"),
+    new CallForPaperView("2", "Devoxx, \"PL\"\nedition", "2024-04-01", 19814, null));
+
+  @Test
+  public void shouldRenderCsvRows() {
+    //when
+    String rows = new String(CallForPaperExportFormat.CSV.rows(callForPapers), StandardCharsets.UTF_8);
+
+    //then
+    assertThat(rows).isEqualTo("""
+      1,Scalar,2024-03-25,https://www.scalar-conf.com/
+      2,"Devoxx, ""PL""
+      edition",2024-04-01,
+      """);
+  }
+
+  @Test
+  public void shouldRenderNdjsonRows() {
+    //when
+    String rows = new String(CallForPaperExportFormat.NDJSON.rows(callForPapers), StandardCharsets.UTF_8);
+
+    //then
+    assertThat(rows.lines()).hasSize(2);
+    assertThat(rows.lines().findFirst()).contains("{\"id\":\"1\",\"conferenceName\":\"Scalar\",\"deadline\":\"2024-03-25\",\"deadlineInEpochDays\":19807,\"conferenceLink\":\"https://www.scalar-conf.com/\"}");
+  }
+}
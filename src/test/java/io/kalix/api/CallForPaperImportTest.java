@@ -0,0 +1,84 @@
+package io.kalix.api;
+
+import io.kalix.api.CallForPaperImport.ParsedRow;
+import io.kalix.api.CallForPaperImport.Prepared;
+import io.kalix.api.ImportReport.ImportRowResult;
+import io.kalix.api.ImportReport.Status;
+import io.kalix.application.CreateCallForPaper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CallForPaperImportTest {
+
+  LocalDate today = LocalDate.parse("2024-01-01");
+
+  @Test
+  public void shouldParseCsvWithQuotedFields() {
+    //given
+    var content = """
+      deadline,conferenceName,conferenceLink
+      2024-03-25,Scalar,https://www.scalar-conf.com/
+      2024-04-01,"Devoxx, ""PL""
+      edition",https://devoxx.pl/
+      """;
+
+    //when
+    List<ParsedRow> rows = CallForPaperImport.parse("csv", content, "andrzej");
+
+    //then
+    assertThat(rows).containsExactly(
+      new ParsedRow(1, new CreateCallForPaper("Scalar", LocalDate.parse("2024-03-25"), "https://www.scalar-conf.com/", "andrzej", true), null),
+      new ParsedRow(2, new CreateCallForPaper("Devoxx, \"PL\"\nedition", LocalDate.parse("2024-04-01"), "https://devoxx.pl/", "andrzej", true), null));
+  }
+
+  @Test
+  public void shouldParseNdjson() {
+    //given
+    var content = """
+      {"conferenceName":"Scalar","deadline":"2024-03-25","conferenceLink":"https://www.scalar-conf.com/"}
+
+      {"conferenceName":"Devoxx","deadline":"25.03.2024","conferenceLink":"https://devoxx.pl/"}
+      {"conferenceName":
+      """;
+
+    //when
+    List<ParsedRow> rows = CallForPaperImport.parse("ndjson", content, "andrzej");
+
+    //then
+    assertThat(rows).hasSize(3);
+    assertThat(rows.get(0).createCallForPaper()).isEqualTo(new CreateCallForPaper("Scalar", LocalDate.parse("2024-03-25"), "https://www.scalar-conf.com/", "andrzej", true));
+    assertThat(rows.get(1).error()).isEqualTo("Invalid deadline: 25.03.2024");
+    assertThat(rows.get(2).error()).startsWith("Invalid JSON");
+  }
+
+  @Test
+  public void shouldRejectCsvWithoutRequiredColumns() {
+    assertThatThrownBy(() -> CallForPaperImport.parse("csv", "name,deadline\nScalar,2024-03-25", "andrzej"))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldRejectInvalidAndDuplicatedRows() {
+    //given
+    List<ParsedRow> rows = List.of(
+      new ParsedRow(1, new CreateCallForPaper("Scalar", LocalDate.parse("2024-03-25"), "https://www.scalar-conf.com/", "andrzej", true), null),
+      new ParsedRow(2, new CreateCallForPaper(" scalar ", LocalDate.parse("2024-03-25"), "https://scalar.com/", "andrzej", true), null),
+      new ParsedRow(3, new CreateCallForPaper("Devoxx", LocalDate.parse("2024-04-01"), "", "andrzej", true), null),
+      new ParsedRow(4, null, "Invalid deadline: tomorrow"));
+
+    //when
+    Prepared prepared = CallForPaperImport.prepare(rows, today);
+
+    //then
+    assertThat(prepared.candidates()).containsExactly(rows.getFirst());
+    assertThat(prepared.results()).containsExactly(
+      new ImportRowResult(2, Status.DUPLICATE, null, "Duplicated within the import"),
+      new ImportRowResult(3, Status.INVALID, null, "Missing conference link"),
+      new ImportRowResult(4, Status.INVALID, null, "Invalid deadline: tomorrow"));
+  }
+}
@@ -0,0 +1,69 @@
+package io.kalix.api;
+
+import com.typesafe.config.ConfigFactory;
+import io.kalix.view.CallForPaperView;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CallForPaperSearchIndexTest {
+
+  CallForPaperView scalar = new CallForPaperView("1", "Scalar 2024", "2024-03-25", 19807, "https://www.scalar-conf.com/");
+  CallForPaperView devoxx = new CallForPaperView("2", "Devoxx Poland", "2024-02-01", 19754, "https://devoxx.pl/");
+  CallForPaperView krakow = new CallForPaperView("3", "Kraków JUG Day", "2024-05-10", 19853, "https://jug.krakow.pl/day");
+
+  @Test
+  public void shouldFindByNameAndHostPrefixes() {
+    //given
+    var index = new CallForPaperSearchIndex(ConfigFactory.load());
+    index.put(scalar);
+    index.put(devoxx);
+    index.put(krakow);
+
+    //when //then
+    assertThat(index.search("scal", Long.MIN_VALUE, 10)).containsExactly(scalar);
+    assertThat(index.search("scalar-conf", Long.MIN_VALUE, 10)).containsExactly(scalar);
+    assertThat(index.search("KRAKOW jug", Long.MIN_VALUE, 10)).containsExactly(krakow);
+    assertThat(index.search("2024 pol", Long.MIN_VALUE, 10)).isEmpty();
+    assertThat(index.search("d", Long.MIN_VALUE, 10)).containsExactly(devoxx, krakow);
+    assertThat(index.search("d", 19800, 10)).containsExactly(krakow);
+    assertThat(index.search(" ", Long.MIN_VALUE, 10)).isEmpty();
+  }
+
+  @Test
+  public void shouldReindexChangedAndRemovedCfps() {
+    //given
+    var index = new CallForPaperSearchIndex(ConfigFactory.load());
+    index.put(scalar);
+    index.put(devoxx);
+
+    //when
+    index.put(new CallForPaperView("1", "Lambda Days", "2024-03-25", 19807, "https://www.lambdadays.org/"));
+    index.remove("2");
+
+    //then
+    assertThat(index.search("scalar", Long.MIN_VALUE, 10)).isEmpty();
+    assertThat(index.search("lambda", Long.MIN_VALUE, 10)).extracting(CallForPaperView::id).containsExactly("1");
+    assertThat(index.search("devoxx", Long.MIN_VALUE, 10)).isEmpty();
+  }
+
+  @Test
+  public void shouldKeepChangesMadeDuringReload() {
+    //given
+    var index = new CallForPaperSearchIndex(ConfigFactory.load());
+    index.put(scalar);
+    long reloadStartedAt = System.nanoTime();
+    index.put(devoxx);
+    index.remove("1");
+
+    //when
+    index.reload(List.of(scalar, krakow), reloadStartedAt);
+
+    //then
+    assertThat(index.search("scalar", Long.MIN_VALUE, 10)).isEmpty();
+    assertThat(index.search("devoxx", Long.MIN_VALUE, 10)).containsExactly(devoxx);
+    assertThat(index.search("jug", Long.MIN_VALUE, 10)).containsExactly(krakow);
+  }
+}
@@ -2,6 +2,8 @@ package io.kalix.api;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Optional;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class ViewSubmissionParserTest {
@@ -26,4 +28,57 @@ class ViewSubmissionParserTest {
       .getSelectedOption().getValue()).isEqualTo("55b0f53e-8e07-434c-84e9-ce0840110043");
   }
 
-}
\ No newline at end of file
+  @Test
+  public void shouldStopParsingOnInvalidToken() {
+    //given
+    var payload = "{\"type\":\"view_submission\",\"token\":\"wrong\",\"view\":{\"callback_id\":\"view-id\",\"state\":{\"values\":{";
+
+    //when
+    Optional<ViewSubmission> viewSubmission = ViewSubmissionParser.parse(payload, "123"::equals);
+
+    //then
+    assertThat(viewSubmission).isEmpty();
+  }
+
+  @Test
+  public void shouldRejectMissingToken() {
+    //given
+    var payload = "{\"type\":\"view_submission\",\"view\":{\"callback_id\":\"view-id\",\"state\":null}}";
+
+    //when
+    Optional<ViewSubmission> viewSubmission = ViewSubmissionParser.parse(payload, "123"::equals);
+
+    //then
+    assertThat(viewSubmission).isEmpty();
+  }
+
+  @Test
+  public void shouldParseTokenAfterView() {
+    //given
+    var payload = "{\"view\":{\"blocks\":[{\"type\":\"input\",\"elements\":[1,2,null]}],\"callback_id\":\"add_cfp\",\"state\":{\"values\":{\"conference_name\":{\"conference_name\":{\"type\":\"plain_text_input\",\"value\":\"Scalar\"}}}}},\"user\":null,\"type\":\"view_submission\",\"token\":\"123\"}";
+
+    //when
+    Optional<ViewSubmission> viewSubmission = ViewSubmissionParser.parse(payload, "123"::equals);
+
+    //then
+    assertThat(viewSubmission).isPresent();
+    assertThat(viewSubmission.get().type()).isEqualTo("view_submission");
+    assertThat(viewSubmission.get().user()).isNull();
+    assertThat(viewSubmission.get().view().callbackId()).isEqualTo("add_cfp");
+    assertThat(viewSubmission.get().view().state()
+      .getValues().get("conference_name").get("conference_name").getValue()).isEqualTo("Scalar");
+  }
+
+  @Test
+  public void shouldParseBlockSuggestion() {
+    //given
+    var payload = "{\"type\":\"block_suggestion\",\"user\":{\"id\":\"U06AJ1JA509\",\"username\":\"andrzej.ludwikowski\"},\"container\":{\"type\":\"view\",\"view_id\":\"V06CGQQM41W\"},\"api_app_id\":\"A06A5FB58HG\",\"token\":\"123\",\"action_id\":\"cfp_id\",\"block_id\":\"cfp_id\",\"value\":\"scal\",\"view\":{\"type\":\"modal\",\"blocks\":[],\"state\":{\"values\":{}}}}";
+
+    //when
+    Optional<BlockSuggestion> blockSuggestion = ViewSubmissionParser.parseBlockSuggestion(payload, "123"::equals);
+
+    //then
+    assertThat(blockSuggestion).contains(new BlockSuggestion("block_suggestion", "123", "cfp_id", "scal"));
+    assertThat(ViewSubmissionParser.parseBlockSuggestion(payload, "456"::equals)).isEmpty();
+  }
+}
@@ -0,0 +1,44 @@
+package io.kalix.application;
+
+import io.kalix.domain.CallForPaper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CallForPaperIdsTest {
+
+  LocalDate deadline = LocalDate.parse("2024-03-25");
+
+  @Test
+  public void shouldDeriveSameIdForNormalizedEqualCfps() {
+    //given
+    var cfp = new CreateCallForPaper("Scalar 2024", deadline, "https://www.scalar-conf.com/", "andrzej");
+    var retried = new CreateCallForPaper("  scalar   2024 ", deadline, "HTTPS://www.scalar-conf.com", "someone else");
+
+    //then
+    assertThat(CallForPaperIds.of(retried)).isEqualTo(CallForPaperIds.of(cfp));
+  }
+
+  @Test
+  public void shouldDeriveDifferentIdsForDifferentCfps() {
+    //given
+    var cfp = new CreateCallForPaper("Scalar 2024", deadline, "https://www.scalar-conf.com/", "andrzej");
+    var nextEdition = new CreateCallForPaper("Scalar 2024", deadline.plusYears(1), "https://www.scalar-conf.com/", "andrzej");
+
+    //then
+    assertThat(CallForPaperIds.of(nextEdition)).isNotEqualTo(CallForPaperIds.of(cfp));
+  }
+
+  @Test
+  public void shouldRecognizeSameCfp() {
+    //given
+    var existing = new CallForPaper("1", "Scalar 2024", deadline, "https://www.scalar-conf.com/", "andrzej", Instant.now());
+
+    //then
+    assertThat(CallForPaperIds.sameCallForPaper(existing, new CreateCallForPaper("scalar 2024", deadline, "https://www.scalar-conf.com", "andrzej"))).isTrue();
+    assertThat(CallForPaperIds.sameCallForPaper(existing, new CreateCallForPaper("Scalar 2024", deadline, "https://scalar.com/", "andrzej"))).isFalse();
+  }
+}
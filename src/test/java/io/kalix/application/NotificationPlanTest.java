@@ -0,0 +1,100 @@
+package io.kalix.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static io.kalix.application.DurationCalculator.calculateDuration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationPlanTest {
+
+  Clock clock = Clock.systemUTC();
+
+  @Test
+  public void shouldParseAndSortIntervals() {
+    //when
+    NotificationPlan notificationPlan = NotificationPlan.of("7, 1,14", clock);
+
+    //then
+    assertThat(notificationPlan.intervals()).containsExactly(1, 7, 14);
+  }
+
+  @Test
+  public void shouldUseDefaultIntervals() {
+    //when
+    NotificationPlan notificationPlan = NotificationPlan.of("", clock);
+
+    //then
+    assertThat(notificationPlan.intervals()).containsExactly(1, 7);
+  }
+
+  @Test
+  public void shouldRejectInvalidIntervals() {
+    assertThatThrownBy(() -> NotificationPlan.of("7,-1", clock)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> NotificationPlan.of("7,1,7", clock)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> NotificationPlan.of("7,a", clock)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldCalculateSameDurationAsDurationCalculator() {
+    //given
+    LocalDate deadline = LocalDate.parse("2024-03-25");
+    Instant now = Instant.parse("2024-01-20T10:12:12.00Z");
+    Clock warsawClock = Clock.system(ZoneId.of("Europe/Warsaw"));
+
+    //when
+    NotificationPlan utcPlan = NotificationPlan.of("7,1", clock);
+    NotificationPlan warsawPlan = NotificationPlan.of("7,1", warsawClock);
+
+    //then
+    assertThat(utcPlan.durationUntilNotification(now, 7, deadline)).isEqualTo(calculateDuration(now, 7, deadline, clock));
+    assertThat(utcPlan.durationUntilNotification(now, 1, deadline)).isEqualTo(calculateDuration(now, 1, deadline, clock));
+    assertThat(warsawPlan.durationUntilNotification(now, 7, deadline)).isEqualTo(calculateDuration(now, 7, deadline, warsawClock));
+  }
+
+  @Test
+  public void shouldScheduleTickAtNotificationHour() {
+    //given
+    NotificationPlan notificationPlan = NotificationPlan.of("7,1", clock);
+    Instant now = Instant.parse("2024-01-20T01:00:03.00Z");
+
+    //when
+    Duration untilTick = notificationPlan.durationUntilTick(now, LocalDate.parse("2024-01-21"));
+
+    //then
+    assertThat(untilTick).isEqualTo(Duration.ofHours(24).minusSeconds(3));
+  }
+
+  @Test
+  public void shouldScheduleTickRightAwayWhenRetriedPastItsDueTime() {
+    //given
+    NotificationPlan notificationPlan = NotificationPlan.of("7,1", clock);
+    Instant now = Instant.parse("2024-01-21T01:00:05.00Z");
+
+    //when
+    Duration untilTick = notificationPlan.durationUntilTick(now, LocalDate.parse("2024-01-21"));
+
+    //then
+    assertThat(untilTick).isEqualTo(Duration.ZERO);
+  }
+
+  @Test
+  public void shouldFindIntervalsMissedByTodaysTick() {
+    //given
+    NotificationPlan notificationPlan = NotificationPlan.of("7,1", clock);
+    Instant beforeTick = Instant.parse("2024-01-20T00:30:00.00Z");
+    Instant afterTick = Instant.parse("2024-01-20T10:12:12.00Z");
+
+    //then
+    assertThat(notificationPlan.intervalsMissedByTick(afterTick, LocalDate.parse("2024-01-21"))).containsExactly(1);
+    assertThat(notificationPlan.intervalsMissedByTick(afterTick, LocalDate.parse("2024-01-27"))).containsExactly(7);
+    assertThat(notificationPlan.intervalsMissedByTick(afterTick, LocalDate.parse("2024-01-22"))).isEmpty();
+    assertThat(notificationPlan.intervalsMissedByTick(beforeTick, LocalDate.parse("2024-01-21"))).isEmpty();
+  }
+}
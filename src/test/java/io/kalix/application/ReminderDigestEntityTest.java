@@ -0,0 +1,64 @@
+package io.kalix.application;
+
+import io.kalix.domain.CallForPaperReminder;
+import io.kalix.domain.ReminderDigest;
+import kalix.javasdk.testkit.ValueEntityTestKit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReminderDigestEntityTest {
+
+  CallForPaperReminder first = new CallForPaperReminder("1", "My conference 1", "2024-03-25", "url", 7);
+  CallForPaperReminder second = new CallForPaperReminder("2", "My conference 2", "2024-03-25", "url", 7);
+
+  @Test
+  public void shouldAskForFlushTimerUntilItIsRecorded() {
+    //given
+    var testKit = ValueEntityTestKit.of("slot", ReminderDigestEntity::new);
+    testKit.call(entity -> entity.add(first));
+
+    //when
+    ReminderDigest beforeFlushScheduled = testKit.call(entity -> entity.add(second)).getReply();
+    testKit.call(ReminderDigestEntity::markFlushScheduled);
+    ReminderDigest afterFlushScheduled = testKit.call(entity -> entity.add(second)).getReply();
+
+    //then
+    assertThat(beforeFlushScheduled.flushScheduled()).isFalse();
+    assertThat(afterFlushScheduled.flushScheduled()).isTrue();
+    assertThat(afterFlushScheduled.reminders()).containsExactly(first, second);
+  }
+
+  @Test
+  public void shouldAskForFlushTimerOfLeftoverReminders() {
+    //given
+    var testKit = ValueEntityTestKit.of("slot", ReminderDigestEntity::new);
+    testKit.call(entity -> entity.add(first));
+    testKit.call(ReminderDigestEntity::markFlushScheduled);
+    testKit.call(entity -> entity.add(second));
+
+    //when
+    ReminderDigest leftover = testKit.call(entity -> entity.remove(new ReminderDigest(List.of(first), true))).getReply();
+
+    //then
+    assertThat(leftover.reminders()).containsExactly(second);
+    assertThat(leftover.flushScheduled()).isFalse();
+  }
+
+  @Test
+  public void shouldNotRecordFlushTimerOfFlushedDigest() {
+    //given
+    var testKit = ValueEntityTestKit.of("slot", ReminderDigestEntity::new);
+    testKit.call(entity -> entity.add(first));
+    testKit.call(entity -> entity.remove(new ReminderDigest(List.of(first), false)));
+
+    //when
+    testKit.call(ReminderDigestEntity::markFlushScheduled);
+    ReminderDigest digest = testKit.call(entity -> entity.add(second)).getReply();
+
+    //then
+    assertThat(digest.flushScheduled()).isFalse();
+  }
+}
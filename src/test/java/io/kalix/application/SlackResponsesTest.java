@@ -0,0 +1,53 @@
+package io.kalix.application;
+
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlackResponsesTest {
+
+  ApplicationMetrics metrics = new ApplicationMetrics(OpenTelemetry.noop().getMeter("test"));
+
+  @Test
+  public void shouldDropMessageRejectedWithClientError() {
+    //given
+    var response = new SlackResponse.Response(404, "no_service");
+
+    //when
+    var outcome = SlackResponses.handle("reminder", response, metrics).toCompletableFuture();
+
+    //then
+    assertThat(outcome).isCompleted();
+  }
+
+  @Test
+  public void shouldFailRateLimitedMessage() {
+    //given
+    var response = new SlackResponse.Response(429, "Too Many Requests", Duration.ofSeconds(1));
+
+    //when
+    var outcome = SlackResponses.handle("reminder", response, metrics).toCompletableFuture();
+
+    //then
+    assertThat(outcome).isCompletedExceptionally();
+  }
+
+  @Test
+  public void shouldRetryChannelsThatMayAcceptLater() {
+    //given
+    var undelivered = new UndeliveredChannelsException("Failed to send reminder to channels [default, jvm, scala]", Map.of(
+      "default", new SlackResponse.Response(500, "Internal Server Error"),
+      "jvm", new SlackResponse.Response(404, "channel_not_found"),
+      "scala", new SlackResponse.Failure(503, "open", new SlackUnavailableException("open", Duration.ofSeconds(30)))));
+
+    //when
+    var channels = SlackResponses.retryableChannels("reminder", undelivered, metrics);
+
+    //then
+    assertThat(channels).containsExactlyInAnyOrder("default", "scala");
+  }
+}
@@ -0,0 +1,140 @@
+package io.kalix.application;
+
+import io.kalix.domain.CallForPaperReminder;
+import io.kalix.view.CallForPaperView;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TracingSlackClientTest {
+
+  List<SpanData> spans = new CopyOnWriteArrayList<>();
+  SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+    .addSpanProcessor(SimpleSpanProcessor.create(new SpanExporter() {
+      @Override
+      public CompletableResultCode export(Collection<SpanData> exported) {
+        spans.addAll(exported);
+        return CompletableResultCode.ofSuccess();
+      }
+
+      @Override
+      public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+      }
+
+      @Override
+      public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+      }
+    }))
+    .build();
+
+  @Test
+  public void shouldEndSpanWithStatusAndAttributesFromDelegate() {
+    //given
+    SlackClient slackClient = new TracingSlackClient(new StubSlackClient(() -> {
+      Span.current().setAttribute("slack.retry.count", 2);
+      return CompletableFuture.completedFuture(new SlackResponse.Response(200, "ok"));
+    }), tracerProvider.get("test"), Context.root());
+
+    //when
+    slackClient.postNewCfp(new CallForPaperView("1", "Scalar", "2024-03-25", 19807, "https://www.scalar-conf.com/")).toCompletableFuture().join();
+
+    //then
+    assertThat(spans).hasSize(1);
+    SpanData span = spans.getFirst();
+    assertThat(span.getName()).isEqualTo("slack-api-post-new-cfp");
+    assertThat(span.getKind()).isEqualTo(SpanKind.CLIENT);
+    assertThat(span.getAttributes().get(TracingSlackClient.HTTP_STATUS)).isEqualTo(200);
+    assertThat(span.getAttributes().get(AttributeKey.longKey("slack.retry.count"))).isEqualTo(2);
+    assertThat(span.getStatus().getStatusCode()).isEqualTo(StatusCode.UNSET);
+  }
+
+  @Test
+  public void shouldEndSpanOnFailure() {
+    //given
+    SlackClient slackClient = new TracingSlackClient(new StubSlackClient(() ->
+      CompletableFuture.failedFuture(new IOException("connection reset"))), tracerProvider.get("test"), Context.root());
+
+    //when
+    slackClient.notifyAboutOpenCfp(new CallForPaperReminder("1", "Scalar", "2024-03-25", "https://www.scalar-conf.com/", 7))
+      .exceptionally(__ -> null)
+      .toCompletableFuture().join();
+
+    //then
+    assertThat(spans).hasSize(1);
+    assertThat(spans.getFirst().getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+    assertThat(spans.getFirst().getEvents()).anyMatch(event -> event.getName().equals("exception"));
+  }
+
+  @Test
+  public void shouldMarkNonOkResponseAsError() {
+    //given
+    SlackClient slackClient = new TracingSlackClient(new StubSlackClient(() ->
+      CompletableFuture.completedFuture(new SlackResponse.Response(429, "rate limited"))), tracerProvider.get("test"), Context.root());
+
+    //when
+    slackClient.openAddCfp("trigger", "add_cfp", "name", "link", "deadline").toCompletableFuture().join();
+
+    //then
+    assertThat(spans).hasSize(1);
+    assertThat(spans.getFirst().getAttributes().get(TracingSlackClient.HTTP_STATUS)).isEqualTo(429);
+    assertThat(spans.getFirst().getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+  }
+
+  private record StubSlackClient(Supplier<CompletionStage<SlackResponse>> response) implements SlackClient {
+
+    @Override
+    public byte[] getCfpsListPayload(List<CallForPaperView> openCallForPapers) {
+      return new byte[0];
+    }
+
+    @Override
+    public byte[] getCfpOptionsPayload(List<CallForPaperView> callForPaperViews) {
+      return new byte[0];
+    }
+
+    @Override
+    public CompletionStage<SlackResponse> postNewCfp(CallForPaperView callForPaperView) {
+      return response.get();
+    }
+
+    @Override
+    public CompletionStage<SlackResponse> openCfpsToDelete(String triggerId, String callbackId, String cfpIdField) {
+      return response.get();
+    }
+
+    @Override
+    public CompletionStage<SlackResponse> openAddCfp(String triggerId, String callbackId, String conferenceNameField, String conferenceLinkField, String conferenceCfpDeadlineField) {
+      return response.get();
+    }
+
+    @Override
+    public CompletionStage<SlackResponse> notifyAboutOpenCfp(CallForPaperReminder callForPaperReminder) {
+      return response.get();
+    }
+
+    @Override
+    public CompletionStage<SlackResponse> notifyAboutOpenCfps(List<CallForPaperReminder> callForPaperReminders) {
+      return response.get();
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package io.kalix.infrastructure;
+
+import com.google.gson.Gson;
+import com.slack.api.SlackConfig;
+import com.slack.api.util.json.GsonFactory;
+import io.kalix.view.CallForPaperView;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CfpsListPayloadWriterTest {
+
+  private final Gson gson = GsonFactory.createSnakeCase(SlackConfig.DEFAULT);
+
+  @Test
+  public void shouldWriteSameJsonAsGson() {
+    //given
+    List<CallForPaperView> cfps = List.of(
+      new CallForPaperView("1", "Scalar 2024", "2024-03-25", 19807, "https://www.scalar-conf.com/"),
+      new CallForPaperView("2", "Devoxx <PL> & \"friends\" 'n' = \\", "2024-04-01", 19814, "https://devoxx.pl/?a=1&b=2"),
+      new CallForPaperView("3", "Jfokus\tStockholm\nŁódź \u2028\u2029 \u0001 🚀 日本", "2024-05-01", 19844, "https://jfokus.se/"),
+      new CallForPaperView("4", null, "2024-06-01", 19875, null)
+    );
+
+    //when
+    byte[] payload = CfpsListPayloadWriter.write(cfps);
+
+    //then
+    assertThat(new String(payload, StandardCharsets.UTF_8)).isEqualTo(gson.toJson(BlockingSlackClient.cfpsListPayload(cfps)));
+  }
+
+  @Test
+  public void shouldWriteEmptyList() {
+    //when
+    byte[] payload = CfpsListPayloadWriter.write(List.of());
+
+    //then
+    assertThat(new String(payload, StandardCharsets.UTF_8)).isEqualTo(gson.toJson(BlockingSlackClient.cfpsListPayload(List.of())));
+  }
+
+  @Test
+  public void shouldGrowBufferForLongLists() {
+    //given
+    List<CallForPaperView> cfps = IntStream.range(0, 1000)
+      .mapToObj(i -> new CallForPaperView(String.valueOf(i), "Conference " + i, "2024-03-25", 19807, "https://conference-" + i + ".com/cfp?edition=" + i))
+      .toList();
+
+    //when
+    byte[] payload = CfpsListPayloadWriter.write(cfps);
+    byte[] shortPayload = CfpsListPayloadWriter.write(cfps.subList(0, 1));
+
+    //then
+    assertThat(new String(payload, StandardCharsets.UTF_8)).isEqualTo(gson.toJson(BlockingSlackClient.cfpsListPayload(cfps)));
+    assertThat(new String(shortPayload, StandardCharsets.UTF_8)).isEqualTo(gson.toJson(BlockingSlackClient.cfpsListPayload(cfps.subList(0, 1))));
+  }
+}
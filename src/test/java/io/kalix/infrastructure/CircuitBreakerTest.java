@@ -0,0 +1,79 @@
+package io.kalix.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+  AtomicLong nanoTime = new AtomicLong(1_000_000_000L);
+  CircuitBreakerSettings settings = new CircuitBreakerSettings(3, Duration.ofSeconds(30));
+
+  @Test
+  public void shouldOpenAfterConsecutiveFailures() {
+    //given
+    CircuitBreaker circuitBreaker = new CircuitBreaker(settings, nanoTime::get);
+    circuitBreaker.onFailure();
+    circuitBreaker.onFailure();
+    circuitBreaker.onSuccess();
+    circuitBreaker.onFailure();
+    circuitBreaker.onFailure();
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+    //when
+    circuitBreaker.onFailure();
+    nanoTime.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    //then
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(circuitBreaker.tryAcquire()).isFalse();
+    assertThat(circuitBreaker.retryAfter()).isEqualTo(Duration.ofSeconds(20));
+  }
+
+  @Test
+  public void shouldLetSingleTrialCallThroughAfterResetTimeout() {
+    //given
+    CircuitBreaker circuitBreaker = new CircuitBreaker(settings, nanoTime::get);
+    circuitBreaker.onFailure();
+    circuitBreaker.onFailure();
+    circuitBreaker.onFailure();
+
+    //when
+    nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+
+    //then
+    assertThat(circuitBreaker.tryAcquire()).isTrue();
+    assertThat(circuitBreaker.tryAcquire()).isFalse();
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+  }
+
+  @Test
+  public void shouldCloseOrOpenAfterTrialCall() {
+    //given
+    CircuitBreaker circuitBreaker = new CircuitBreaker(settings, nanoTime::get);
+    circuitBreaker.onFailure();
+    circuitBreaker.onFailure();
+    circuitBreaker.onFailure();
+    nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+    circuitBreaker.tryAcquire();
+
+    //when
+    circuitBreaker.onFailure();
+
+    //then
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(circuitBreaker.retryAfter()).isEqualTo(Duration.ofSeconds(30));
+
+    //when
+    nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+    circuitBreaker.tryAcquire();
+    circuitBreaker.onSuccess();
+
+    //then
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    assertThat(circuitBreaker.tryAcquire()).isTrue();
+  }
+}
@@ -0,0 +1,130 @@
+package io.kalix.infrastructure;
+
+import io.kalix.application.SlackResponse;
+import io.kalix.application.SlackUnavailableException;
+import io.kalix.application.UndeliveredChannelsException;
+import io.kalix.domain.CallForPaperReminder;
+import io.kalix.infrastructure.SlackDispatcherTest.RespondingSlackClient;
+import io.kalix.view.CallForPaperView;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class FanOutSlackClientTest {
+
+  SlackDispatcherSettings settings = new SlackDispatcherSettings(1, 1, 1, 0, Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(1));
+  CallForPaperView scalar = new CallForPaperView("1", "Scalar 2024", "2024-03-25", 19807, "https://www.scalar-conf.com/");
+  SlackResponse ok = new SlackResponse.Response(200, "ok");
+
+  @Test
+  public void shouldSendOnlyToSubscribedChannels() throws Exception {
+    //given
+    var defaultChannel = new RespondingSlackClient(ok);
+    var scalaChannel = new RespondingSlackClient(ok);
+    var pythonChannel = new RespondingSlackClient(ok);
+    var fanOut = new FanOutSlackClient(List.of(
+      channel(SlackChannel.DEFAULT, List.of(), defaultChannel),
+      channel("scala", List.of("SCALA", "akka"), scalaChannel),
+      channel("python", List.of("python"), pythonChannel)),
+      OpenTelemetry.noop().getMeter("test"));
+
+    //when
+    SlackResponse response = fanOut.postNewCfp(scalar).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+    //then
+    assertThat(response).isEqualTo(ok);
+    assertThat(defaultChannel.calls.get()).isEqualTo(1);
+    assertThat(scalaChannel.calls.get()).isEqualTo(1);
+    assertThat(pythonChannel.calls.get()).isZero();
+  }
+
+  @Test
+  public void shouldReportChannelsThatDidNotAccept() throws Exception {
+    //given
+    var serverError = new SlackResponse.Response(500, "Internal Server Error");
+    var fanOut = new FanOutSlackClient(List.of(
+      channel(SlackChannel.DEFAULT, List.of(), new RespondingSlackClient(serverError)),
+      channel("all", List.of(), new RespondingSlackClient(ok))),
+      OpenTelemetry.noop().getMeter("test"));
+
+    //when
+    SlackResponse response = fanOut.notifyAboutOpenCfp(new CallForPaperReminder("1", "Scalar", "2024-03-25", "https://www.scalar-conf.com/", 7))
+      .toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+    //then
+    assertThat(UndeliveredChannelsException.isCause(response)).isTrue();
+    var undelivered = (UndeliveredChannelsException) ((SlackResponse.Failure) response).exception();
+    assertThat(undelivered.failures()).containsExactly(entry(SlackChannel.DEFAULT, serverError));
+  }
+
+  @Test
+  public void shouldSendToSelectedChannelOnly() throws Exception {
+    //given
+    var defaultChannel = new RespondingSlackClient(ok);
+    var scalaChannel = new RespondingSlackClient(ok);
+    var fanOut = new FanOutSlackClient(List.of(
+      channel(SlackChannel.DEFAULT, List.of(), defaultChannel),
+      channel("scala", List.of("scala"), scalaChannel)),
+      OpenTelemetry.noop().getMeter("test"));
+
+    //when
+    SlackResponse response = fanOut.toChannel("scala").postNewCfp(scalar).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+    //then
+    assertThat(response).isEqualTo(ok);
+    assertThat(defaultChannel.calls.get()).isZero();
+    assertThat(scalaChannel.calls.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldPreferRegularFailureWhenAllChannelsFailed() throws Exception {
+    //given
+    var unavailable = new SlackResponse.Failure(503, "open", new SlackUnavailableException("open", Duration.ofSeconds(30)));
+    var serverError = new SlackResponse.Response(500, "Internal Server Error");
+    var fanOut = new FanOutSlackClient(List.of(
+      channel(SlackChannel.DEFAULT, List.of(), new RespondingSlackClient(unavailable)),
+      channel("all", List.of(), new RespondingSlackClient(serverError))),
+      OpenTelemetry.noop().getMeter("test"));
+
+    //when
+    SlackResponse response = fanOut.postNewCfp(scalar).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+    //then
+    assertThat(response).isEqualTo(serverError);
+  }
+
+  @Test
+  public void shouldNotReturnClientErrorWhenAnotherChannelCanBeRetried() throws Exception {
+    //given
+    var notFound = new SlackResponse.Response(404, "channel_not_found");
+    var unavailable = new SlackResponse.Failure(503, "open", new SlackUnavailableException("open", Duration.ofSeconds(30)));
+    var rateLimited = new SlackResponse.Response(429, "Too Many Requests", Duration.ofSeconds(1));
+    var fanOut = new FanOutSlackClient(List.of(
+      channel(SlackChannel.DEFAULT, List.of(), new RespondingSlackClient(notFound)),
+      channel("all", List.of(), new RespondingSlackClient(unavailable)),
+      channel("jvm", List.of(), new RespondingSlackClient(rateLimited))),
+      OpenTelemetry.noop().getMeter("test"));
+    var unavailableOnly = new FanOutSlackClient(List.of(
+      channel(SlackChannel.DEFAULT, List.of(), new RespondingSlackClient(notFound)),
+      channel("all", List.of(), new RespondingSlackClient(unavailable))),
+      OpenTelemetry.noop().getMeter("test"));
+
+    //when
+    SlackResponse response = fanOut.postNewCfp(scalar).toCompletableFuture().get(5, TimeUnit.SECONDS);
+    SlackResponse unavailableResponse = unavailableOnly.postNewCfp(scalar).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+    //then
+    assertThat(response).isEqualTo(rateLimited);
+    assertThat(unavailableResponse).isEqualTo(unavailable);
+  }
+
+  private FanOutSlackClient.Channel channel(String name, List<String> keywords, RespondingSlackClient client) {
+    return new FanOutSlackClient.Channel(new SlackChannel(name, "https://hooks.slack.com/" + name, keywords, settings), client);
+  }
+}
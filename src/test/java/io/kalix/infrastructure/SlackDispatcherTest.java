@@ -0,0 +1,135 @@
+package io.kalix.infrastructure;
+
+import io.kalix.application.SlackClient;
+import io.kalix.application.SlackResponse;
+import io.kalix.domain.CallForPaperReminder;
+import io.kalix.view.CallForPaperView;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlackDispatcherTest {
+
+  SlackDispatcherSettings settings = new SlackDispatcherSettings(100, 10, 1, 3, Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMillis(100));
+  CallForPaperReminder reminder = new CallForPaperReminder("1", "My conference", "2024-03-25", "url", 7);
+
+  @Test
+  public void shouldRetryRateLimitedCall() throws Exception {
+    //given
+    var slackClient = new RespondingSlackClient(
+      new SlackResponse.Response(429, "Too Many Requests", Duration.ofMillis(20)),
+      new SlackResponse.Response(200, "ok"));
+    var dispatcher = new SlackDispatcher(slackClient, settings, OpenTelemetry.noop().getMeter("test"));
+
+    //when
+    SlackResponse response = dispatcher.notifyAboutOpenCfp(reminder).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+    //then
+    assertThat(response).isEqualTo(new SlackResponse.Response(200, "ok"));
+    assertThat(slackClient.calls.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldGiveUpAfterMaxRetries() throws Exception {
+    //given
+    var slackClient = new RespondingSlackClient(new SlackResponse.Response(500, "Internal Server Error"));
+    var dispatcher = new SlackDispatcher(slackClient, settings, OpenTelemetry.noop().getMeter("test"));
+
+    //when
+    SlackResponse response = dispatcher.notifyAboutOpenCfp(reminder).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+    //then
+    assertThat(response).isEqualTo(new SlackResponse.Response(500, "Internal Server Error"));
+    assertThat(slackClient.calls.get()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldRejectCallsWhenQueueIsFull() throws Exception {
+    //given
+    var slackClient = new RespondingSlackClient(new SlackResponse.Response(500, "Internal Server Error"));
+    var dispatcher = new SlackDispatcher(slackClient, settings, OpenTelemetry.noop().getMeter("test"));
+    dispatcher.notifyAboutOpenCfp(reminder);
+
+    //when
+    SlackResponse response = dispatcher.notifyAboutOpenCfp(reminder).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+    //then
+    assertThat(response).isInstanceOf(SlackResponse.Failure.class);
+    assertThat(((SlackResponse.Failure) response).code()).isEqualTo(503);
+  }
+
+  @Test
+  public void shouldNotRetryAnnouncementPastItsDeadline() throws Exception {
+    //given
+    var slackClient = new RespondingSlackClient(
+      new SlackResponse.Response(429, "Too Many Requests", Duration.ofSeconds(1)),
+      new SlackResponse.Response(200, "ok"));
+    var dispatcher = new SlackDispatcher(slackClient, settings, OpenTelemetry.noop().getMeter("test"));
+    var callForPaperView = new CallForPaperView("1", "My conference", "2024-03-25", 19807, "url");
+
+    //when
+    SlackResponse response = dispatcher.postNewCfp(callForPaperView).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+    //then
+    assertThat(response).isEqualTo(new SlackResponse.Response(429, "Too Many Requests", Duration.ofSeconds(1)));
+    assertThat(slackClient.calls.get()).isEqualTo(1);
+  }
+
+  static class RespondingSlackClient implements SlackClient {
+
+    private final SlackResponse[] responses;
+    final AtomicInteger calls = new AtomicInteger();
+
+    RespondingSlackClient(SlackResponse... responses) {
+      this.responses = responses;
+    }
+
+    private CompletionStage<SlackResponse> respond() {
+      int call = calls.getAndIncrement();
+      return CompletableFuture.completedFuture(responses[Math.min(call, responses.length - 1)]);
+    }
+
+    @Override
+    public byte[] getCfpsListPayload(List<CallForPaperView> openCallForPapers) {
+      return new byte[0];
+    }
+
+    @Override
+    public byte[] getCfpOptionsPayload(List<CallForPaperView> callForPaperViews) {
+      return new byte[0];
+    }
+
+    @Override
+    public CompletionStage<SlackResponse> postNewCfp(CallForPaperView callForPaperView) {
+      return respond();
+    }
+
+    @Override
+    public CompletionStage<SlackResponse> openCfpsToDelete(String triggerId, String callbackId, String cfpIdField) {
+      return respond();
+    }
+
+    @Override
+    public CompletionStage<SlackResponse> openAddCfp(String triggerId, String callbackId, String conferenceNameField, String conferenceLinkField, String conferenceCfpDeadlineField) {
+      return respond();
+    }
+
+    @Override
+    public CompletionStage<SlackResponse> notifyAboutOpenCfp(CallForPaperReminder callForPaperReminder) {
+      return respond();
+    }
+
+    @Override
+    public CompletionStage<SlackResponse> notifyAboutOpenCfps(List<CallForPaperReminder> callForPaperReminders) {
+      return respond();
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package io.kalix.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+  AtomicLong nanoTime = new AtomicLong(1_000_000_000L);
+
+  @Test
+  public void shouldAllowBurstAndThenSpaceCalls() {
+    //given
+    TokenBucket tokenBucket = new TokenBucket(1, 3, nanoTime::get);
+
+    //when
+    Duration first = tokenBucket.reserve();
+    Duration second = tokenBucket.reserve();
+    Duration third = tokenBucket.reserve();
+    Duration fourth = tokenBucket.reserve();
+    Duration fifth = tokenBucket.reserve();
+
+    //then
+    assertThat(first).isZero();
+    assertThat(second).isZero();
+    assertThat(third).isZero();
+    assertThat(fourth).isEqualTo(Duration.ofSeconds(1));
+    assertThat(fifth).isEqualTo(Duration.ofSeconds(2));
+  }
+
+  @Test
+  public void shouldWaitForRetryAfter() {
+    //given
+    TokenBucket tokenBucket = new TokenBucket(1, 3, nanoTime::get);
+
+    //when
+    tokenBucket.pause(Duration.ofSeconds(30));
+
+    //then
+    assertThat(tokenBucket.reserve()).isEqualTo(Duration.ofSeconds(30));
+    assertThat(tokenBucket.reserve()).isEqualTo(Duration.ofSeconds(31));
+  }
+
+  @Test
+  public void shouldNotTakeTokenThatCannotBeUsedInTime() {
+    //given
+    TokenBucket tokenBucket = new TokenBucket(1, 1, nanoTime::get);
+    tokenBucket.reserve();
+
+    //when
+    var tooLate = tokenBucket.tryReserve(Duration.ofMillis(500));
+    var inTime = tokenBucket.tryReserve(Duration.ofSeconds(1));
+
+    //then
+    assertThat(tooLate).isEmpty();
+    assertThat(inTime).contains(Duration.ofSeconds(1));
+  }
+}
@@ -0,0 +1,55 @@
+package io.kalix.infrastructure;
+
+import io.kalix.application.SlackResponse;
+import io.kalix.domain.CallForPaperReminder;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadSlackClientTest {
+
+  CallForPaperReminder reminder = new CallForPaperReminder("1", "My conference", "2024-03-25", "url", 7);
+
+  @Test
+  public void shouldShareInFlightLimitAcrossChannels() throws Exception {
+    //given
+    var inFlight = new Semaphore(1);
+    var pending = new CompletableFuture<SlackResponse>();
+    var firstChannel = new VirtualThreadSlackClient(new PendingSlackClient(pending), inFlight, Duration.ofMillis(50));
+    var secondChannel = new VirtualThreadSlackClient(new SlackDispatcherTest.RespondingSlackClient(new SlackResponse.Response(200, "ok")), inFlight, Duration.ofMillis(50));
+    CompletionStage<SlackResponse> blocked = firstChannel.notifyAboutOpenCfp(reminder);
+    while (inFlight.availablePermits() > 0) {
+      Thread.onSpinWait();
+    }
+
+    //when
+    SlackResponse response = secondChannel.notifyAboutOpenCfp(reminder).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+    //then
+    assertThat(response).isInstanceOf(SlackResponse.Failure.class);
+    assertThat(((SlackResponse.Failure) response).code()).isEqualTo(503);
+    pending.complete(new SlackResponse.Response(200, "ok"));
+    assertThat(blocked.toCompletableFuture().get(5, TimeUnit.SECONDS)).isEqualTo(new SlackResponse.Response(200, "ok"));
+    assertThat(secondChannel.notifyAboutOpenCfp(reminder).toCompletableFuture().get(5, TimeUnit.SECONDS)).isEqualTo(new SlackResponse.Response(200, "ok"));
+  }
+
+  static class PendingSlackClient extends SlackDispatcherTest.RespondingSlackClient {
+
+    private final CompletableFuture<SlackResponse> pending;
+
+    PendingSlackClient(CompletableFuture<SlackResponse> pending) {
+      this.pending = pending;
+    }
+
+    @Override
+    public CompletionStage<SlackResponse> notifyAboutOpenCfp(CallForPaperReminder callForPaperReminder) {
+      return pending;
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package io.kalix.view;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageTokenTest {
+
+  @Test
+  public void shouldRoundTripToken() {
+    //given
+    var pageToken = new PageToken(19807, "55b0f53e-8e07-434c-84e9-ce0840110043");
+
+    //when
+    PageToken parsed = PageToken.parse(pageToken.encode());
+
+    //then
+    assertThat(parsed).isEqualTo(pageToken);
+  }
+
+  @Test
+  public void shouldStartFromFirstPageWithoutToken() {
+    assertThat(PageToken.parse(null)).isEqualTo(PageToken.FIRST);
+    assertThat(PageToken.parse("")).isEqualTo(PageToken.FIRST);
+  }
+
+  @Test
+  public void shouldRejectInvalidToken() {
+    assertThatThrownBy(() -> PageToken.parse("not a token")).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldContinueAfterLastCfpOfPage() {
+    //given
+    var page = new CallForPaperPage(List.of(
+      new CallForPaperView("a", "Scalar", "2024-03-25", 19807, "https://www.scalar-conf.com/"),
+      new CallForPaperView("b", "Devoxx", "2024-03-26", 19808, "https://devoxx.pl/")), true);
+    var lastPage = new CallForPaperPage(page.callForPaperViews(), false);
+
+    //then
+    assertThat(page.nextPageToken()).isEqualTo(new PageToken(19808, "b"));
+    assertThat(lastPage.nextPageToken()).isNull();
+  }
+}